@@ -0,0 +1,64 @@
+package bench;
+
+import model.Board;
+import model.Game;
+import model.Position;
+import model.piece.PlayerPiece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the createBoard on the densest position of the seeded games.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBench {
+
+    private Board board;
+
+    /**
+     * Letters of the PlayerPiece on the createBoard, looked up in turn.
+     */
+    private String[] letters;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        Game game = Positions.dense(Positions.SEED);
+        board = game.getBoard();
+        int[] cells = new int[PlayerPiece.PIECES];
+        int count = board.getPieceCells(cells);
+        letters = new String[count];
+        for(int i = 0; i < count; i++){
+            letters[i] = ((PlayerPiece) board.getSquare(Position.at(cells[i]))).getLetter();
+        }
+    }
+
+    @Benchmark
+    public Board cloneBoard(){
+        return board.clone();
+    }
+
+    @Benchmark
+    public PlayerPiece findPiece(){
+        String letter = letters[next];
+        next = next + 1 == letters.length ? 0 : next + 1;
+        return board.findPiece(letter);
+    }
+
+    /**
+     * Every PlayerPiece on the createBoard in a row.
+     */
+    @Benchmark
+    public void findEveryPiece(Blackhole blackhole){
+        for(String letter : letters){
+            blackhole.consume(board.findPiece(letter));
+        }
+    }
+}
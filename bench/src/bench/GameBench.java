@@ -0,0 +1,87 @@
+package bench;
+
+import model.Action;
+import model.Game;
+import model.piece.PlayerPiece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the game on seeded positions. Actions are applied between a checkpoint and its restore, so every
+ * invocation starts from the same state and the time includes reverting the action.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBench {
+
+    /**
+     * Densest position of the seeded games, and the moves and rotations that can be played in it. Applying them
+     * checks the reactions of the piece with every neighbor it ends up next to.
+     */
+    private Game dense;
+    private int[] actions;
+
+    /**
+     * Position and move of the seeded games whose reactions push the most pieces one after another.
+     */
+    private Game chain;
+    private final int[] chainAction = new int[1];
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        dense = Positions.dense(Positions.SEED);
+        int[] buffer = new int[Action.MAX_ACTIONS];
+        int count = dense.generateActions(buffer);
+        int moves = 0;
+        for(int i = 0; i < count; i++){
+            if(Action.type(buffer[i]) == Action.MOVE || Action.type(buffer[i]) == Action.ROTATE){
+                buffer[moves++] = buffer[i];
+            }
+        }
+        actions = Arrays.copyOf(buffer, moves);
+
+        chain = Positions.longestPush(Positions.SEED, chainAction);
+    }
+
+    /**
+     * Apply every move and rotation of the dense position, each followed by its reactions.
+     */
+    @Benchmark
+    public void reactionsOnDenseBoard(Blackhole blackhole){
+        for(int action : actions){
+            int checkpoint = dense.checkpoint();
+            blackhole.consume(dense.apply(action));
+            blackhole.consume(dense.getZobristHash());
+            dense.restore(checkpoint);
+        }
+    }
+
+    /**
+     * Apply the move starting the longest chain of pushes, each pushed piece moving through a MovePieceCommand.
+     */
+    @Benchmark
+    public long pushChain(){
+        int checkpoint = chain.checkpoint();
+        chain.apply(chainAction[0]);
+        long hash = chain.getZobristHash();
+        chain.restore(checkpoint);
+        return hash;
+    }
+
+    /**
+     * Look up every piece in the future set, the way the createBoard drawer asks for each cell.
+     */
+    @Benchmark
+    public void getFuture(Blackhole blackhole){
+        for(PlayerPiece piece : dense.getFuture()){
+            blackhole.consume(dense.getFuture().contains(piece));
+        }
+    }
+}
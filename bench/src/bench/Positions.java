@@ -0,0 +1,133 @@
+package bench;
+
+import model.Action;
+import model.Board;
+import model.Game;
+import model.GameSnapshot;
+import model.piece.PlayerPiece;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Positions builds the states the benchmarks run on by playing random games from a seed, so every run of a benchmark
+ * starts from the same state.
+ */
+final class Positions {
+
+    /**
+     * Seed of every position, unless a benchmark is given another one.
+     */
+    static final long SEED = 42;
+
+    /**
+     * Number of games played to look for a position, and the number of turns after which each is stopped.
+     */
+    private static final int GAMES = 50;
+    private static final int TURNS = 300;
+
+    private Positions(){
+    }
+
+    /**
+     * Play random games and keep the state with the most PlayerPiece on the createBoard.
+     * @param seed
+     *          Seed of the games.
+     * @return
+     *          New game in the densest state found.
+     */
+    static Game dense(long seed){
+        Random random = new Random(seed);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        int[] cells = new int[PlayerPiece.PIECES];
+        ByteBuffer best = ByteBuffer.allocate(GameSnapshot.MAX_BYTES);
+        int bestPieces = -1;
+
+        for(int i = 0; i < GAMES; i++){
+            Game game = new Game(new Board());
+            while(!game.gameOver() && game.getMoves() < TURNS){
+                int pieces = game.getBoard().getPieceCells(cells);
+                if(pieces > bestPieces){
+                    bestPieces = pieces;
+                    best.clear();
+                    GameSnapshot.write(game, best);
+                }
+                play(game, actions, random);
+            }
+        }
+        best.flip();
+        return GameSnapshot.read(best);
+    }
+
+    /**
+     * Play a random game until it is over or reaches the turn limit.
+     * @param seed
+     *          Seed of the game.
+     * @return
+     *          Game at its end.
+     */
+    static Game end(long seed){
+        Random random = new Random(seed);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        Game game = new Game(new Board());
+        while(!game.gameOver() && game.getMoves() < TURNS){
+            play(game, actions, random);
+        }
+        return game;
+    }
+
+    /**
+     * Play random games and keep the state and the action whose reactions push the most pieces.
+     * @param seed
+     *          Seed of the games.
+     * @param action
+     *          Array of one int the action is written to.
+     * @return
+     *          New game in the state the action is to be applied to.
+     */
+    static Game longestPush(long seed, int[] action){
+        Random random = new Random(seed);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        ByteBuffer best = ByteBuffer.allocate(GameSnapshot.MAX_BYTES);
+        long bestPushes = -1;
+
+        for(int i = 0; i < GAMES; i++){
+            Game game = new Game(new Board());
+            while(!game.gameOver() && game.getMoves() < TURNS){
+                int count = game.generateActions(actions);
+                for(int j = 0; j < count; j++){
+                    if(Action.type(actions[j]) != Action.MOVE){
+                        continue;
+                    }
+                    int checkpoint = game.checkpoint();
+                    long pushes = game.getPushes();
+                    // An action whose reactions never settle does not count.
+                    pushes = game.apply(actions[j]) ? game.getPushes() - pushes : -1;
+                    game.restore(checkpoint);
+
+                    if(pushes > bestPushes){
+                        bestPushes = pushes;
+                        action[0] = actions[j];
+                        best.clear();
+                        GameSnapshot.write(game, best);
+                    }
+                }
+                play(game, actions, random);
+            }
+        }
+        best.flip();
+        return GameSnapshot.read(best);
+    }
+
+    /**
+     * Play a random action that the game accepts.
+     */
+    static void play(Game game, int[] actions, Random random){
+        int count = game.generateActions(actions);
+        int index = random.nextInt(count);
+        while(!game.play(actions[index])){
+            actions[index] = actions[--count];
+            index = random.nextInt(count);
+        }
+    }
+}
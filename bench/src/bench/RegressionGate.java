@@ -0,0 +1,128 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.*;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * RegressionGate runs the benchmarks with the GC profiler and compares the time and the bytes allocated by each
+ * invocation against a baseline recorded by an earlier run. It exits with status 1 if any benchmark got slower or
+ * allocates more than the baseline allows.
+ *      RegressionGate record baseline.properties [benchmark regex]
+ *      RegressionGate check baseline.properties [tolerance] [benchmark regex]
+ * The tolerance is the fraction a benchmark may get slower by, 0.10 unless given. The bytes allocated per
+ * invocation do not depend on timing, so they may only grow by the same fraction plus a few bytes of noise.
+ */
+public class RegressionGate {
+
+    private static final double DEFAULT_TOLERANCE = 0.10;
+    private static final double BYTES_NOISE = 16;
+
+    /**
+     * Names of the secondary result of the GC profiler holding the bytes allocated per invocation, which changed
+     * between versions of JMH.
+     */
+    private static final String[] ALLOC_KEYS = {"gc.alloc.rate.norm", "\u00B7gc.alloc.rate.norm"};
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        if(args.length < 2 || !(args[0].equals("record") || args[0].equals("check"))){
+            System.err.println("RegressionGate record|check baseline.properties [tolerance] [benchmark regex]");
+            System.exit(2);
+        }
+        boolean record = args[0].equals("record");
+        File baseline = new File(args[1]);
+        int next = 2;
+        double tolerance = DEFAULT_TOLERANCE;
+        if(!record && args.length > next && args[next].matches("[0-9.]+")){
+            tolerance = Double.parseDouble(args[next++]);
+        }
+        String include = args.length > next ? args[next] : "bench\\..*";
+
+        Map<String, double[]> results = run(include);
+        if(record){
+            save(results, baseline);
+            System.out.println("Recorded " + results.size() + " benchmarks to " + baseline);
+            return;
+        }
+        System.exit(check(results, load(baseline), tolerance) ? 0 : 1);
+    }
+
+    /**
+     * @return
+     *      Time in nanoseconds and bytes allocated per invocation of each benchmark, by name.
+     */
+    private static Map<String, double[]> run(String include) throws RunnerException {
+        Options options = new OptionsBuilder().include(include).addProfiler(GCProfiler.class).build();
+        Collection<RunResult> runs = new Runner(options).run();
+
+        Map<String, double[]> results = new TreeMap<>();
+        for(RunResult run : runs){
+            double bytes = Double.NaN;
+            for(String key : ALLOC_KEYS){
+                // JMH declares the secondary results with the raw type.
+                Result<?> secondary = run.getSecondaryResults().get(key);
+                if(secondary != null){
+                    bytes = secondary.getScore();
+                }
+            }
+            results.put(run.getParams().getBenchmark(), new double[]{run.getPrimaryResult().getScore(), bytes});
+        }
+        return results;
+    }
+
+    private static boolean check(Map<String, double[]> results, Map<String, double[]> baseline, double tolerance){
+        boolean passed = true;
+        for(Map.Entry<String, double[]> entry : results.entrySet()){
+            double[] now = entry.getValue();
+            double[] before = baseline.get(entry.getKey());
+            if(before == null){
+                System.out.printf("NEW  %-50s %12.1f ns %10.1f B%n", entry.getKey(), now[0], now[1]);
+                continue;
+            }
+            boolean slower = now[0] > before[0] * (1 + tolerance);
+            boolean allocates = now[1] > before[1] * (1 + tolerance) + BYTES_NOISE;
+            passed &= !slower && !allocates;
+            System.out.printf("%-4s %-50s %12.1f ns (was %.1f) %10.1f B (was %.1f)%n",
+                    slower || allocates ? "FAIL" : "OK", entry.getKey(), now[0], before[0], now[1], before[1]);
+        }
+        return passed;
+    }
+
+    private static void save(Map<String, double[]> results, File file) throws IOException {
+        Properties properties = new Properties();
+        for(Map.Entry<String, double[]> entry : results.entrySet()){
+            properties.setProperty(entry.getKey() + ".ns", Double.toString(entry.getValue()[0]));
+            properties.setProperty(entry.getKey() + ".bytes", Double.toString(entry.getValue()[1]));
+        }
+        try(OutputStream out = new FileOutputStream(file)){
+            properties.store(out, "Benchmark baseline recorded by RegressionGate");
+        }
+    }
+
+    private static Map<String, double[]> load(File file) throws IOException {
+        Properties properties = new Properties();
+        try(InputStream in = new FileInputStream(file)){
+            properties.load(in);
+        }
+        Map<String, double[]> baseline = new TreeMap<>();
+        for(String key : properties.stringPropertyNames()){
+            if(key.endsWith(".ns")){
+                String name = key.substring(0, key.length() - ".ns".length());
+                baseline.put(name, new double[]{
+                        Double.parseDouble(properties.getProperty(key)),
+                        Double.parseDouble(properties.getProperty(name + ".bytes", "NaN"))});
+            }
+        }
+        return baseline;
+    }
+}
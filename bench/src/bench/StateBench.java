@@ -0,0 +1,41 @@
+package bench;
+
+import model.Cemetery;
+import model.Game;
+import model.piece.Piece;
+import model.player.Hand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the cemetery and the hands at the end of a seeded game, when the cemetery is at its fullest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StateBench {
+
+    private Cemetery cemetery;
+    private Hand hand;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        Game game = Positions.end(Positions.SEED);
+        cemetery = game.getCemetery();
+        hand = game.getCurrentPlayer().hand;
+    }
+
+    @Benchmark
+    public Cemetery cloneCemetery(){
+        return cemetery.clone();
+    }
+
+    @Benchmark
+    public Piece[][] handArray(){
+        return hand.getArrayRepresentation();
+    }
+}
@@ -3,10 +3,15 @@ import model.Board;
 import model.Game;
 
 import javax.swing.*;
+import java.util.Arrays;
 
 public class Main {
 
+    /**
+     * Start the game. Pass --canvas to draw the board as a single component instead of a grid of buttons.
+     */
     public static void main(String[] args) {
+        PrimaryView.canvasBoard = Arrays.asList(args).contains("--canvas");
         Board board = new Board();
         Game game = new Game(board);
         SwingUtilities.invokeLater(() -> new PrimaryView(game));
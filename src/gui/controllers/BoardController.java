@@ -3,6 +3,7 @@ package gui.controllers;
 import gui.drawers.Dialogs;
 import gui.drawers.SquareButton;
 import model.Game;
+import model.Position;
 import model.piece.Piece;
 import model.piece.PlayerPiece;
 import model.player.Player;
@@ -40,9 +41,17 @@ public class BoardController implements ActionListener, MouseListener {
     @Override
     public void actionPerformed(ActionEvent e) {
         SquareButton squareButton = (SquareButton) e.getSource();
+        selectSquare(squareButton.getPosition());
+    }
 
+    /**
+     * Select the PlayerPiece at a position of the board to be moved or rotated, or tell the user why it cannot be.
+     * @param position
+     *          Position of the square clicked.
+     */
+    public void selectSquare(Position position) {
         // Get the selected piece.
-        Piece piece = gameModel.getBoard().getPiece(squareButton);
+        Piece piece = gameModel.getBoard().getSquare(position);
         if (!gameModel.getGamePhase().equals(ACTION)) {
             Dialogs.actionErrorDialog("You are not allowed to move / rotate your pieces at this stage");
             return;
@@ -62,40 +71,57 @@ public class BoardController implements ActionListener, MouseListener {
         }
 
         // Highlight the selected piece.
-        gameModel.board.setSelectedSquare(squareButton.getPosition());
+        gameModel.board.setSelectedSquare(position);
         gameModel.clearNewlyDead();
         gameModel.setStatus("Selected");
     }
 
     @Override
     public void mousePressed(MouseEvent e) {
-        // MouseListener is only added to selected piece.
-        // Get the selected piece to move in the board.
-        PlayerPiece toMove = (PlayerPiece) gameModel.getBoard().getPiece((SquareButton) e.getSource());
-        Player.Direction headedDirection = getDirection(e);
+        // The board keeps its SquareButton, so only the selected piece responds.
+        SquareButton squareButton = (SquareButton) e.getSource();
+        if(squareButton.getPanelType() != SquareButton.Panel.BOARD_SELECTED){
+            return;
+        }
+        Player.Direction headedDirection = getDirection(e.getX(), e.getY(),
+                squareButton.getWidth(), squareButton.getHeight());
+        movePiece(squareButton.getPosition(), headedDirection);
+    }
 
+    /**
+     * Move the selected PlayerPiece at a position of the board.
+     * @param position
+     *          Position of the selected piece.
+     * @param headedDirection
+     *          Player.Direction to move the piece, or null if the click did not identify one.
+     */
+    public void movePiece(Position position, Player.Direction headedDirection) {
         if(headedDirection == null){
             Dialogs.actionErrorDialog("Cannot identify a valid direction. Please try again");
             return;
         }
 
+        // Get the selected piece to move in the board.
+        PlayerPiece toMove = (PlayerPiece) gameModel.getBoard().getSquare(position);
+
         // Move the piece in the board and update the game state accordingly.
         gameModel.movePiece(toMove.getLetter(), headedDirection, true);
     }
 
     /**
-     * Return the appropriate Player.Direction based on the position of the mouse click.
-     * @param e
-     *          MouseEvent of the mouse click.
+     * Return the appropriate Player.Direction based on the position of the mouse click in a square.
+     * @param mouseX
+     *          x of the mouse click from the left edge of the square.
+     * @param mouseY
+     *          y of the mouse click from the top edge of the square.
+     * @param width
+     *          Width of the square.
+     * @param height
+     *          Height of the square.
      * @return
-     *          Player.Direction to move the selected piece.
+     *          Player.Direction to move the selected piece, or null if the click is not near an edge.
      */
-    private Player.Direction getDirection(MouseEvent e){
-        int width = ((SquareButton) e.getSource()).getWidth();
-        int height = ((SquareButton) e.getSource()).getHeight();
-        int mouseX = e.getX();
-        int mouseY = e.getY();
-
+    public static Player.Direction getDirection(int mouseX, int mouseY, int width, int height){
         // Check for top region.
         if(mouseX >= OFFSET && mouseX <= (width - OFFSET) && mouseY >= 0 && mouseY <= OFFSET){
             return Player.Direction.UP;
@@ -130,7 +156,7 @@ public class BoardController implements ActionListener, MouseListener {
      *          SquareButton to bind the WASD keys to.
      */
     public void bindWASDKey(SquareButton squareButton) {
-        Piece piece = gameModel.getBoard().getPiece(squareButton);
+        Piece piece = gameModel.getBoard().getSquare(squareButton.getPosition());
 
         // We only bind WASD key to a PlayerPiece.
         if(!(piece instanceof PlayerPiece))
@@ -165,6 +191,26 @@ public class BoardController implements ActionListener, MouseListener {
         }));
     }
 
+    /**
+     * unbindWASDKey removes the WASD keys from a squareButton that is no longer selected, so that the keys
+     * only move the piece selected now.
+     * @param squareButton
+     *          SquareButton to remove the WASD keys from.
+     */
+    public void unbindWASDKey(SquareButton squareButton) {
+        InputMap inputMap = squareButton.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        inputMap.remove(KeyStroke.getKeyStroke("W"));
+        inputMap.remove(KeyStroke.getKeyStroke("A"));
+        inputMap.remove(KeyStroke.getKeyStroke("S"));
+        inputMap.remove(KeyStroke.getKeyStroke("D"));
+
+        ActionMap actionMap = squareButton.getActionMap();
+        actionMap.remove("UpAction");
+        actionMap.remove("LeftAction");
+        actionMap.remove("DownAction");
+        actionMap.remove("RightAction");
+    }
+
     @Override
     public void mouseClicked(MouseEvent e) {
 
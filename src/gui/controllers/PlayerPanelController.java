@@ -61,7 +61,7 @@ public class PlayerPanelController implements ActionListener {
                 }
 
                 // Get the selected piece.
-                Piece selectedPiece = gameModel.getCurrentPlayer().hand.getPiece(squareButton);
+                Piece selectedPiece = gameModel.getCurrentPlayer().hand.getPiece(squareButton.getPosition());
 
                 // User cannot create a non-Player Piece.
                 if (!(selectedPiece instanceof PlayerPiece)) {
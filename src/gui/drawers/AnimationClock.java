@@ -0,0 +1,160 @@
+package gui.drawers;
+
+import javax.swing.*;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * AnimationClock drives every animation of the GUI from a single Swing Timer, instead of each animated component
+ * starting a Timer of its own. On each frame it advances every running animation and repaints each of their
+ * components once. Frames are at most FRAME_MILLIS apart, however often the animations would like to change, and
+ * the Timer only runs while there is an animation to advance.
+ *
+ * An animation is retired once it has finished, once it is stopped, or once its component has been discarded:
+ * removed from the window after having been shown, or garbage collected. Like the rest of the GUI, the clock is only
+ * used from the event dispatch thread.
+ */
+public final class AnimationClock {
+
+    /**
+     * Time between two frames, capping the repaints of the animations to about 30 per second.
+     */
+    public static final int FRAME_MILLIS = 33;
+
+    /**
+     * An animation advanced on each frame.
+     */
+    public interface Animation {
+
+        /**
+         * Advance the animation.
+         * @param elapsed
+         *          Milliseconds since the animation was started.
+         * @return
+         *          true while the animation is running, false once it has finished.
+         */
+        boolean animate(long elapsed);
+    }
+
+    /**
+     * Running animation and the component it repaints.
+     */
+    private static final class Running {
+
+        private final WeakReference<JComponent> component;
+        private final Animation animation;
+        private final long startTime;
+        private boolean shown;
+
+        Running(JComponent component, Animation animation, long startTime){
+            this.component = new WeakReference<>(component);
+            this.animation = animation;
+            this.startTime = startTime;
+        }
+    }
+
+    private static final List<Running> running = new ArrayList<>();
+    private static final Timer timer = new Timer(FRAME_MILLIS, e -> frame());
+
+    private AnimationClock(){
+    }
+
+    /**
+     * Start an animation of a component. It is first advanced on the next frame.
+     * @param component
+     *          Component that the animation draws on, repainted after each frame.
+     * @param animation
+     *          Animation to advance.
+     */
+    public static void start(JComponent component, Animation animation){
+        running.add(new Running(component, animation, now()));
+        if(!timer.isRunning()){
+            timer.start();
+        }
+    }
+
+    /**
+     * Retire every animation of a component before it has finished.
+     * @param component
+     *          Component whose animations to stop.
+     */
+    public static void stop(JComponent component){
+        running.removeIf(r -> r.component.get() == component);
+        if(running.isEmpty()){
+            timer.stop();
+        }
+    }
+
+    /**
+     * @return
+     *      Number of animations running. Used for testing.
+     */
+    public static int getRunningCount(){
+        return running.size();
+    }
+
+    /**
+     * Make an animation out of a step that is taken once every period, as a Timer of that period would. Steps that
+     * fall between two frames are all taken on the latter.
+     * @param period
+     *          Milliseconds between two steps.
+     * @param step
+     *          Step of the animation, returning false once the animation has finished.
+     * @return
+     *          Animation taking the steps.
+     */
+    public static Animation every(long period, BooleanSupplier step){
+        return new Animation() {
+            private long steps;
+
+            @Override
+            public boolean animate(long elapsed) {
+                while(steps < elapsed / period){
+                    steps++;
+                    if(!step.getAsBoolean()){
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Advance every running animation, retire those that have finished or whose component has been discarded, and
+     * repaint the components of the others.
+     */
+    private static void frame(){
+        long now = now();
+        Set<JComponent> repaint = new LinkedHashSet<>();
+
+        // Animations may start or stop others, so they are advanced from a copy.
+        for(Running r : new ArrayList<>(running)){
+            JComponent component = r.component.get();
+            boolean discarded = component == null || (r.shown && !component.isDisplayable());
+            if(component != null && component.isDisplayable()){
+                r.shown = true;
+            }
+            if(discarded || !r.animation.animate(now - r.startTime)){
+                running.remove(r);
+            }
+            if(!discarded){
+                repaint.add(component);
+            }
+        }
+        for(JComponent component : repaint){
+            component.repaint();
+        }
+        if(running.isEmpty()){
+            timer.stop();
+        }
+    }
+
+    private static long now(){
+        return System.nanoTime() / 1000000;
+    }
+}
@@ -0,0 +1,269 @@
+package gui.drawers;
+
+import gui.controllers.BoardController;
+import gui.controllers.FunctionalAction;
+import gui.views.GameView;
+import gui.views.PrimaryView;
+import model.Board;
+import model.Game;
+import model.Position;
+import model.piece.BlankPiece;
+import model.piece.FacePiece;
+import model.piece.Piece;
+import model.piece.PlayerPiece;
+import model.player.Player;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * BoardCanvas draws the board as a single component instead of a grid of SquareButton. Every square is painted in
+ * one pass of paintComponent the way SquareButtonDrawer and SquareButton draw it, and the mouse and the WASD keys
+ * are mapped to the squares here, so the board has one component, one set of listeners and one set of key bindings.
+ */
+public class BoardCanvas extends JPanel implements BoardRenderer {
+
+    /**
+     * Model of the GUI.
+     */
+    private Game gameModel;
+
+    /**
+     * Controller of the board the clicks and the keys are handed to.
+     */
+    private BoardController boardController;
+
+    /**
+     * Position of the selected square, or null if no square is selected.
+     */
+    private Position selected;
+
+    /**
+     * Squares whose PlayerPiece just died, and how far down they have fallen.
+     */
+    private boolean[] fallen;
+    private int fallOffset;
+
+    /**
+     * Grey layer of the board and its animation, made once the game is over.
+     */
+    private JLayer<JPanel> gameOverLayer;
+
+    /**
+     * The falling animation lasts about 2 seconds, and the PlayerPiece has left its square half way through.
+     */
+    private static final int FALL_DURATION = 2000;
+
+    public BoardCanvas(Game gameModel, GameView gameView){
+        this.gameModel = gameModel;
+        this.boardController = gameView.boardController;
+        this.fallen = new boolean[Board.ROWS * Board.COLS];
+
+        MouseAdapter mouseAdapter = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                // Only the selected piece responds to a press, by moving towards the edge that was pressed.
+                Position position = positionAt(e.getX(), e.getY());
+                if(position == null || !position.equals(selected)){
+                    return;
+                }
+                Rectangle square = squareBounds(position);
+                boardController.movePiece(position, BoardController.getDirection(
+                        e.getX() - square.x, e.getY() - square.y, square.width, square.height));
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                Position position = positionAt(e.getX(), e.getY());
+                if(position != null && !position.equals(selected)){
+                    boardController.selectSquare(position);
+                }
+            }
+        };
+        addMouseListener(mouseAdapter);
+        bindWASDKey();
+    }
+
+    /**
+     * Bind the WASD keys once to move whichever piece is selected at the time.
+     */
+    private void bindWASDKey(){
+        String[] keys = {"W", "A", "S", "D"};
+        Player.Direction[] directions = {
+                Player.Direction.UP, Player.Direction.LEFT, Player.Direction.DOWN, Player.Direction.RIGHT};
+        for(int i = 0; i < keys.length; i++){
+            Player.Direction direction = directions[i];
+            getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(keys[i]), direction);
+            getActionMap().put(direction, new FunctionalAction(ae -> {
+                if(selected != null){
+                    boardController.movePiece(selected, direction);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Read the state of the game and paint the board again.
+     * @return
+     *      Rendered JComponent based on the gameModel's board.
+     */
+    @Override
+    public JComponent createBoard(){
+        // Calculate the dimension of the board based on the size of the PrimaryView panel.
+        int width = (int) (PrimaryView.BOARD_WIDTH_RATIO * PrimaryView.getPrimaryViewWidth());
+        int height = (int) (PrimaryView.BOARD_HEIGHT_RATIO * PrimaryView.getPrimaryViewHeight());
+        setPreferredSize(new Dimension(width, height));
+
+        Board gameBoard = gameModel.getBoard();
+        selected = null;
+        boolean newlyFallen = false;
+        for(int index = 0; index < fallen.length; index++){
+            Position currentPosition = Position.at(index);
+            if(gameBoard.selectedSquare(currentPosition)){
+                selected = currentPosition;
+            }
+            boolean usedToHaveAPiece = gameModel.usedToHaveAPiece(currentPosition);
+            newlyFallen |= usedToHaveAPiece && !fallen[index];
+            fallen[index] = usedToHaveAPiece;
+        }
+        if(newlyFallen){
+            fall();
+        }
+        repaint();
+
+        if(gameModel.gameOver()){
+            return gameOverLayer();
+        }
+        if(gameOverLayer != null){
+            AnimationClock.stop(gameOverLayer);
+            gameOverLayer = null;
+        }
+        return this;
+    }
+
+    /**
+     * Start the falling animation of the PlayerPiece that just died, which stops once they have left their square.
+     */
+    private void fall(){
+        fallOffset = 0;
+        AnimationClock.stop(this);
+        AnimationClock.start(this, totalTime -> {
+            // The offset goes from 0 to fallBoundary in half the animation.
+            float fraction = Math.min(1.0f, (float) totalTime / FALL_DURATION);
+            fallOffset = fraction < .5f ? (int) (fallBoundary() * (2 * fraction)) : fallBoundary();
+            return fallOffset < fallBoundary();
+        });
+    }
+
+    private int fallBoundary(){
+        return PrimaryView.getPrimaryViewHeight() / 2;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        Board gameBoard = gameModel.getBoard();
+        Dimension iconSize = PrimaryView.getPreferredIconSize();
+        Rectangle clip = g.getClipBounds();
+
+        for(int index = 0; index < fallen.length; index++){
+            Position currentPosition = Position.at(index);
+            Rectangle square = squareBounds(currentPosition);
+            if(clip != null && !clip.intersects(square)){
+                continue;
+            }
+            Graphics2D g2d = (Graphics2D) g.create(square.x, square.y, square.width, square.height);
+
+            // If in the previous state, there used to be a PlayerPiece in that position,
+            // draw the PlayerPiece on its way down.
+            if(fallen[index]){
+                paintPiece(g2d, gameModel.getNewlyDead(currentPosition), currentPosition, square, iconSize,
+                        SpriteCache.NONE, fallOffset);
+            } else {
+                // Highlight the selected piece in purple and the pieces that have been moved in red.
+                int highlight = SpriteCache.NONE;
+                if(gameBoard.selectedSquare(currentPosition)){
+                    highlight |= SpriteCache.SELECTED;
+                }
+                if(gameModel.movedPiece(currentPosition)){
+                    highlight |= SpriteCache.MOVED;
+                }
+                paintPiece(g2d, gameBoard.getSquare(currentPosition), currentPosition, square, iconSize,
+                        highlight, 0);
+            }
+            g2d.dispose();
+        }
+    }
+
+    /**
+     * Paint a Piece in its square, in the same colors and icons as SquareButtonDrawer. The icons are copied from
+     * the sprites of SpriteCache.
+     */
+    private void paintPiece(Graphics2D g2d, Piece piece, Position position, Rectangle square, Dimension iconSize,
+                            int highlight, int translateY){
+        int iconX = (square.width - iconSize.width) / 2;
+        int iconY = (square.height - iconSize.height) / 2;
+        if(piece instanceof PlayerPiece){
+            g2d.drawImage(SpriteCache.playerPiece((PlayerPiece) piece, highlight), iconX, iconY + translateY, null);
+        } else if(piece instanceof FacePiece){
+            g2d.drawImage(SpriteCache.face(((FacePiece) piece).greenPlayer()), iconX, iconY, null);
+        } else if(piece instanceof BlankPiece){
+            g2d.setColor(Color.GRAY);
+            g2d.fillRect(0, 0, square.width, square.height);
+        } else {
+            g2d.setColor(((position.getX()%2) == (position.getY()%2)) ? Color.BLACK : Color.WHITE);
+            g2d.fillRect(0, 0, square.width, square.height);
+        }
+    }
+
+    /**
+     * @return
+     *      Bounds of the square at a position. The squares share the width and the height of the canvas between
+     *      them, like a GridLayout.
+     */
+    private Rectangle squareBounds(Position position){
+        int x = position.getY() * getWidth() / Board.COLS;
+        int y = position.getX() * getHeight() / Board.ROWS;
+        int nextX = (position.getY() + 1) * getWidth() / Board.COLS;
+        int nextY = (position.getX() + 1) * getHeight() / Board.ROWS;
+        return new Rectangle(x, y, nextX - x, nextY - y);
+    }
+
+    /**
+     * @return
+     *      Position of the square under a point of the canvas, or null if the point is outside of the board.
+     */
+    private Position positionAt(int x, int y){
+        if(x < 0 || y < 0 || x >= getWidth() || y >= getHeight()){
+            return null;
+        }
+        int col = x * Board.COLS / getWidth();
+        int row = y * Board.ROWS / getHeight();
+
+        // The bounds are rounded down, so the point may already be in the next square.
+        if(col + 1 < Board.COLS && (col + 1) * getWidth() / Board.COLS <= x){
+            col++;
+        }
+        if(row + 1 < Board.ROWS && (row + 1) * getHeight() / Board.ROWS <= y){
+            row++;
+        }
+        return Position.of(row, col);
+    }
+
+    /**
+     * If the game is over, we decorate the board with a grey layer, made once.
+     */
+    private JComponent gameOverLayer(){
+        if(gameOverLayer == null){
+            BoardLayerUI boardLayerUI = new BoardLayerUI(gameModel);
+            gameOverLayer = new JLayer<>(this, boardLayerUI);
+
+            // Animation of the winning FacePiece being less greyed out over a period of time.
+            AnimationClock.start(gameOverLayer, AnimationClock.every(100, boardLayerUI::increaseDist));
+        }
+        return gameOverLayer;
+    }
+}
@@ -5,14 +5,23 @@ import gui.views.PrimaryView;
 import model.Board;
 import model.Game;
 import model.Position;
+import model.piece.BlankPiece;
+import model.piece.FacePiece;
+import model.piece.Piece;
+import model.piece.PlayerPiece;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Arrays;
 
 /**
  * BoardDrawer handles all the logic of drawing the board (both display and game over board).
+ *
+ * The board is retained: its SquareButton, their listeners and their layout are made once, and each update compares
+ * every square with what it showed before, so that only the SquareButton of the squares that changed are redrawn
+ * and repainted.
  */
-public class BoardDrawer extends JPanel {
+public class BoardDrawer extends JPanel implements BoardRenderer {
 
     /**
      * Model of the GUI.
@@ -20,98 +29,184 @@ public class BoardDrawer extends JPanel {
     private Game gameModel;
 
     /**
-     * Dimension of the board.
+     * View that we draw this board on.
      */
-    private int width;
-    private int height;
+    private GameView gameView;
 
     /**
-     * View that we draw this board on.
+     * SquareButton of each square of the board, indexed by the index of its Position.
      */
-    private GameView gameView;
+    private SquareButton[] squareButtons;
+
+    /**
+     * What each SquareButton shows, made by squareKey, or -1 if it has to be drawn.
+     */
+    private int[] squareKeys;
+
+    /**
+     * Icon size the SquareButton were drawn for.
+     */
+    private Dimension iconSize;
+
+    /**
+     * Grey layer of the board and its animation, made once the game is over.
+     */
+    private JLayer<JPanel> gameOverLayer;
+
+    /**
+     * Flags of squareKey, above the kinds of Piece.
+     */
+    private static final int FACE_KEY = PlayerPiece.PIECES << 2;
+    private static final int SELECTED = 1 << 8;
+    private static final int MOVED = 1 << 9;
+    private static final int FALLEN = 1 << 10;
 
     public BoardDrawer(Game gameModel, GameView gameView){
         this.gameModel = gameModel;
         this.gameView = gameView;
-
-        // Calculate the dimension of the board based on the size of the PrimaryView panel.
-        this.width = (int) (PrimaryView.BOARD_WIDTH_RATIO * PrimaryView.getPrimaryViewWidth());
-        this.height = (int) (PrimaryView.BOARD_HEIGHT_RATIO * PrimaryView.getPrimaryViewHeight());
+        this.squareButtons = new SquareButton[Board.ROWS * Board.COLS];
+        this.squareKeys = new int[Board.ROWS * Board.COLS];
+        Arrays.fill(squareKeys, -1);
+
+        setLayout(new GridLayout(Board.ROWS, Board.COLS));
+
+        // Create a SquareButton for each square and bind it with the listeners of boardController once.
+        for(int row = 0; row < Board.ROWS; row++){
+            for(int col = 0; col < Board.COLS; col++){
+                Position currentPosition = Position.of(row, col);
+                SquareButton squareButton = new SquareButton(null, currentPosition,
+                        SquareButton.Panel.BOARD_DISPLAY);
+                squareButton.addActionListener(gameView.boardController);
+                squareButton.addMouseListener(gameView.boardController);
+                squareButtons[currentPosition.index()] = squareButton;
+                add(squareButton);
+            }
+        }
     }
 
     /**
-     * Read the board of the game and render the all the graphical assets of the board
-     * onto the JLayeredPane.
+     * Read the board of the game and redraw the SquareButton of the squares that changed since the last update.
      * @return
-     *      Rendered JLayeredPane based on the gameModel's board.
+     *      Rendered JComponent based on the gameModel's board.
      */
+    @Override
     public JComponent createBoard(){
-
+        // Calculate the dimension of the board based on the size of the PrimaryView panel.
+        int width = (int) (PrimaryView.BOARD_WIDTH_RATIO * PrimaryView.getPrimaryViewWidth());
+        int height = (int) (PrimaryView.BOARD_HEIGHT_RATIO * PrimaryView.getPrimaryViewHeight());
         setPreferredSize(new Dimension(width, height));
-        setBounds(0,0, width, height);
 
-        setLayout(new GridLayout(10,10));
+        // The FacePiece icons are scaled to the icon size, so every square is drawn again once it changes.
+        Dimension preferredIconSize = PrimaryView.getPreferredIconSize();
+        if(!preferredIconSize.equals(iconSize)){
+            iconSize = preferredIconSize;
+            Arrays.fill(squareKeys, -1);
+        }
+
         Board gameBoard = gameModel.getBoard();
+        for(int index = 0; index < squareButtons.length; index++){
+            Position currentPosition = Position.at(index);
+            int key = squareKey(gameBoard, currentPosition);
+            if(key != squareKeys[index]){
+                squareKeys[index] = key;
+                drawSquare(gameBoard, squareButtons[index], currentPosition);
+            }
+        }
 
-        // Create a custom, responsive SquareButton for each Piece in gameBoard.
-        // Add the SquareButton into JPanel createBoard.
-        for(int row = 0; row < gameBoard.ROWS; row++){
-            for(int col = 0; col < gameBoard.COLS; col++){
-                Position currentPosition = new Position(row, col);
-                SquareButton squareButton = new SquareButtonDrawer(
-                        gameBoard.getSquare(currentPosition),
-                        currentPosition,
-                        SquareButton.Panel.BOARD_DISPLAY)
-                        .makeButton();
-
-                // If the PlayerPiece is selected, then we flagSelected the piece
-                // and bind the appropriate listeners from boardController.
-                if(gameBoard.selectedSquare(currentPosition)){
-                    squareButton.setPanelType(SquareButton.Panel.BOARD_SELECTED);
-                    squareButton.addMouseListener(gameView.boardController);
-                    gameView.boardController.bindWASDKey(squareButton);
-                    squareButton.flagSelected();
-                }
-
-                // If the PlayerPiece has been moved, then we set unavailable for action.
-                if(gameModel.movedPiece(currentPosition)){
-                    squareButton.flagMoved();
-                }
-
-                // Bind all Pieces in the board with an ActionListener.
-                squareButton.addActionListener(gameView.boardController);
+        if(gameModel.gameOver()){
+            return gameOverLayer();
+        }
+        if(gameOverLayer != null){
+            AnimationClock.stop(gameOverLayer);
+            gameOverLayer = null;
+        }
+        return this;
+    }
+
+    /**
+     * Redraw the SquareButton of a square from the state of the game.
+     */
+    private void drawSquare(Board gameBoard, SquareButton squareButton, Position currentPosition){
+        squareButton.clearFlags();
+        squareButton.land();
+        if(squareButton.getPanelType() == SquareButton.Panel.BOARD_SELECTED){
+            gameView.boardController.unbindWASDKey(squareButton);
+        }
 
-                // If in the previous state, there used to be a PlayerPiece in that position,
-                // draw the PlayerPiece and animate its demise.
-                if(gameModel.usedToHaveAPiece(currentPosition)){
-                    SquareButton justDied = gameModel.getNewlyDead(currentPosition);
-                    justDied.fall();
-                    add(justDied);
-                } else {
-                    // Otherwise, we add existing SquareButton into the board.
-                    add(squareButton);
-                }
+        // If in the previous state, there used to be a PlayerPiece in that position,
+        // draw the PlayerPiece and animate its demise.
+        if(gameModel.usedToHaveAPiece(currentPosition)){
+            new SquareButtonDrawer(gameModel.getNewlyDead(currentPosition),
+                    currentPosition,
+                    SquareButton.Panel.BOARD_DISPLAY)
+                    .draw(squareButton);
+            squareButton.fall();
+            squareButton.repaint();
+            return;
+        }
 
-            }
+        new SquareButtonDrawer(gameBoard.getSquare(currentPosition),
+                currentPosition,
+                SquareButton.Panel.BOARD_DISPLAY)
+                .draw(squareButton);
+
+        // If the PlayerPiece is selected, then we flagSelected the piece
+        // and bind the WASD keys from boardController.
+        if(gameBoard.selectedSquare(currentPosition)){
+            squareButton.setPanelType(SquareButton.Panel.BOARD_SELECTED);
+            gameView.boardController.bindWASDKey(squareButton);
+            squareButton.flagSelected();
         }
 
-        if(gameModel.gameOver()){
-            // If the game is over, we decorate the board with a grey layer.
+        // If the PlayerPiece has been moved, then we set unavailable for action.
+        if(gameModel.movedPiece(currentPosition)){
+            squareButton.flagMoved();
+        }
+        squareButton.repaint();
+    }
+
+    /**
+     * Describe what the SquareButton of a square shows as an int, so that squares are compared without drawing them.
+     * @return
+     *      Kind of Piece, with the id and orientation of a PlayerPiece, and the flags of the square.
+     */
+    private int squareKey(Board gameBoard, Position currentPosition){
+        if(gameModel.usedToHaveAPiece(currentPosition)){
+            return pieceKey(gameModel.getNewlyDead(currentPosition)) | FALLEN;
+        }
+        int key = pieceKey(gameBoard.getSquare(currentPosition));
+        if(gameBoard.selectedSquare(currentPosition)){
+            key |= SELECTED;
+        }
+        if(gameModel.movedPiece(currentPosition)){
+            key |= MOVED;
+        }
+        return key;
+    }
+
+    private static int pieceKey(Piece piece){
+        if(piece instanceof PlayerPiece){
+            PlayerPiece playerPiece = (PlayerPiece) piece;
+            return playerPiece.getId() << 2 | playerPiece.getOrientation();
+        } else if(piece instanceof FacePiece){
+            return ((FacePiece) piece).greenPlayer() ? FACE_KEY : FACE_KEY + 1;
+        } else if(piece instanceof BlankPiece){
+            return FACE_KEY + 2;
+        }
+        return FACE_KEY + 3;
+    }
+
+    /**
+     * If the game is over, we decorate the board with a grey layer, made once.
+     */
+    private JComponent gameOverLayer(){
+        if(gameOverLayer == null){
             BoardLayerUI boardLayerUI = new BoardLayerUI(gameModel);
-            JLayer<JPanel> jPanelJLayer = new JLayer<>(this, boardLayerUI);
+            gameOverLayer = new JLayer<>(this, boardLayerUI);
 
             // Animation of the winning FacePiece being less greyed out over a period of time.
-            new Timer(100,
-                    e -> {
-                        boardLayerUI.increaseDist();
-                        repaint();
-                    }
-            ).start();
-
-            return jPanelJLayer;
-        } else {
-            // Otherwise, we just return the board itself.
-            return this;
+            AnimationClock.start(gameOverLayer, AnimationClock.every(100, boardLayerUI::increaseDist));
         }
+        return gameOverLayer;
     }
 }
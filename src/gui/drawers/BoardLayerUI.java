@@ -46,10 +46,13 @@ public class BoardLayerUI extends LayerUI<JPanel> {
 
     /**
      * increaseDist helps to make the area of the winning face being less greyed out by increasing the dist.
+     * @return
+     *      true until the dist have stopped increasing.
      */
-    public void increaseDist(){
+    public boolean increaseDist(){
         dist1 = dist1 < 0.3f ? dist1 + 0.01f : dist1;
         dist2 = dist2 < 0.5f ? dist1 + 0.01f : dist2;
+        return dist1 < 0.3f;
     }
 
     @Override
@@ -0,0 +1,19 @@
+package gui.drawers;
+
+import javax.swing.*;
+
+/**
+ * BoardRenderer draws the board of the game in GameView. GameView keeps one for the whole game and asks it for the
+ * board again after every change in the state of the game.
+ *      - BoardDrawer: a grid of SquareButton.
+ *      - BoardCanvas: a single component that paints every square itself.
+ */
+public interface BoardRenderer {
+
+    /**
+     * Read the board of the game and render it.
+     * @return
+     *      Rendered JComponent based on the gameModel's board.
+     */
+    JComponent createBoard();
+}
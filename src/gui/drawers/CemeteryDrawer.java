@@ -49,12 +49,12 @@ public class CemeteryDrawer extends JPanel {
         setLayout(new GridLayout(4, 6, 10,10));
 
         // Get the model's cemetery.
-        Piece[][] cemetery = gameModel.getCemetery().getPlayerPiecesInCemetery(player);
+        Piece[][] cemetery = gameModel.getPlayerPiecesInCemetery(player);
 
         // Draw the cemetery.
         for(int row = 0; row < cemetery.length; row++){
             for(int col = 0; col < cemetery[0].length; col++){
-                Position currentPosition = new Position(row, col);
+                Position currentPosition = Position.of(row, col);
                 SquareButton squareButton = new SquareButtonDrawer(cemetery[row][col],
                         currentPosition,
                         SquareButton.Panel.CEMETERY).makeButton();
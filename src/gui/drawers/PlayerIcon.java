@@ -0,0 +1,127 @@
+package gui.drawers;
+
+import gui.views.PrimaryView;
+import model.piece.PlayerPiece;
+import model.piece.PlayerPiece.Item;
+import model.player.Player.Direction;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * PlayerIcon encapsulates all the drawing method of the PlayerPiece in one
+ * class. The Icon is to be used as the SquareButton icon. The PlayerPiece is drawn
+ * once into a sprite of SpriteCache, which is then copied on every paint.
+ */
+class PlayerIcon implements Icon {
+
+    private PlayerPiece playerPiece;
+
+    private final int WIDTH_THICKNESS;
+    private final int HEIGHT_THICKNESS;
+
+    PlayerIcon(PlayerPiece playerPiece){
+        WIDTH_THICKNESS = getIconWidth() / 6;
+        HEIGHT_THICKNESS = getIconHeight() / 6;
+        this.playerPiece = playerPiece;
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        g.drawImage(SpriteCache.playerPiece(playerPiece, SpriteCache.NONE), 0, 0, null);
+    }
+
+    /**
+     * Draw the PlayerPiece at the current icon size.
+     * @param g
+     *          Graphics of the sprite to draw on.
+     */
+    void render(Graphics2D g) {
+        Graphics2D g2d = (Graphics2D) g.create();
+
+        // Draw the player's main piece.
+        Color player = playerPiece.greenPlayer() ? Color.GREEN.darker() : Color.YELLOW;
+        g2d.setColor(player);
+        g2d.fillOval(0, 0, getIconWidth(), getIconHeight());
+
+        // Draw the PlayerPiece items.
+        g2d.setColor(Color.RED);
+        drawUp(playerPiece.getItem(Direction.UP), g2d);
+        drawLeft(playerPiece.getItem(Direction.LEFT), g2d);
+        drawDown(playerPiece.getItem(Direction.DOWN), g2d);
+        drawRight(playerPiece.getItem(Direction.RIGHT), g2d);
+        g2d.dispose();
+    }
+
+    private void drawUp(Item item, Graphics2D g2d) {
+        switch(item){
+            case SHIELD:
+                g2d.fillRect(0,0, getIconWidth(), HEIGHT_THICKNESS);
+                break;
+            case VERTICAL_SWORD:
+                g2d.fillRect(getIconWidth()/2, 0, WIDTH_THICKNESS, getIconHeight()/2 + HEIGHT_THICKNESS);
+                break;
+        }
+    }
+
+    private void drawLeft(Item item, Graphics2D g2d) {
+        switch(item){
+            case SHIELD:
+                g2d.fillRect(0,0,WIDTH_THICKNESS, getIconHeight());
+                break;
+            case HORIZONTAL_SWORD:
+                g2d.fillRect(0,
+                        getIconHeight()/2,
+                        getIconWidth()/2 + WIDTH_THICKNESS,
+                        HEIGHT_THICKNESS);
+                break;
+        }
+    }
+
+    private void drawDown(Item item, Graphics2D g2d) {
+        switch(item){
+            case SHIELD:
+                g2d.fillRect(
+                        0,
+                        getIconHeight() - HEIGHT_THICKNESS,
+                        getIconWidth(),
+                        HEIGHT_THICKNESS);
+                break;
+
+            case VERTICAL_SWORD:
+                g2d.fillRect(
+                        getIconWidth()/2,
+                        getIconHeight()/2,
+                        WIDTH_THICKNESS,
+                        getIconHeight()/2 + HEIGHT_THICKNESS);
+                break;
+        }
+    }
+
+    private void drawRight(Item item, Graphics2D g2d) {
+        switch(item){
+            case SHIELD:
+                g2d.fillRect(getIconWidth() - WIDTH_THICKNESS,
+                        0,
+                        WIDTH_THICKNESS,
+                        getIconHeight());
+                break;
+            case HORIZONTAL_SWORD:
+                g2d.fillRect(getIconWidth()/2,
+                        getIconHeight()/2,
+                        getIconWidth()/2 + WIDTH_THICKNESS,
+                        HEIGHT_THICKNESS);
+                break;
+        }
+    }
+
+    @Override
+    public int getIconWidth() {
+        return PrimaryView.getPreferredIconSize().width;
+    }
+
+    @Override
+    public int getIconHeight() {
+        return PrimaryView.getPreferredIconSize().height;
+    }
+}
@@ -66,7 +66,7 @@ public class PlayerPanelDrawer extends JPanel {
             for(int i = 0; i < 4; i++){
                 PlayerPiece current = allOrientations.get(i);
                 SquareButton squareButton = new SquareButtonDrawer(current,
-                        new Position(0, i),
+                        Position.of(0, i),
                         SquareButton.Panel.TRAINING).makeButton();
                 squareButton.addActionListener(gameView.playerPanelController);
                 add(squareButton);
@@ -76,12 +76,8 @@ public class PlayerPanelDrawer extends JPanel {
             JLayer<JPanel> jPanelJLayer = new JLayer<>(this, playerPanelLayerUI);
 
             // To create a smooth transition when the panel switches.
-            new Timer(5,
-                    e -> {
-                        playerPanelLayerUI.decreaseAlpha();
-                        repaint();
-                    }
-            ).start();
+            // The fade is retired with the panel once GameView replaces it.
+            AnimationClock.start(this, AnimationClock.every(5, playerPanelLayerUI::decreaseAlpha));
 
             return jPanelJLayer;
 
@@ -96,7 +92,7 @@ public class PlayerPanelDrawer extends JPanel {
             // Add the SquareButton into JPanel greenPanelDisplayMode.
             for (int row = 0; row < hand.length; row++) {
                 for (int col = 0; col < hand[0].length; col++) {
-                    Position currentPosition = new Position(row, col);
+                    Position currentPosition = Position.of(row, col);
                     SquareButton squareButton = new SquareButtonDrawer(
                             hand[row][col],
                             currentPosition,
@@ -17,9 +17,12 @@ public class PlayerPanelLayerUI extends LayerUI<JPanel> {
 
     /**
      * Decrease the alpha component.
+     * @return
+     *      true until the layer is fully transparent.
      */
-    public void decreaseAlpha(){
+    public boolean decreaseAlpha(){
         alpha = alpha > 0 ? --alpha : alpha;
+        return alpha > 0;
     }
 
     @Override
@@ -0,0 +1,123 @@
+package gui.drawers;
+
+import gui.views.PrimaryView;
+import model.piece.PlayerPiece;
+import resources.ImageResources;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * SpriteCache keeps the icons of the pieces drawn once into images, so that painting a piece is a single drawImage.
+ * A PlayerPiece is drawn once per id, orientation and highlight, and a FacePiece is scaled once per player. Every
+ * sprite is drawn at the icon size of PrimaryView.getPreferredIconSize and the cache is cleared once that size
+ * changes, when the window is resized.
+ *
+ * The images are made compatible with the screen where there is one, so that they are copied without being
+ * converted. Like the rest of the GUI, the cache is only used from the event dispatch thread.
+ */
+final class SpriteCache {
+
+    /**
+     * Highlights of a PlayerPiece, which can be combined.
+     *      - SELECTED: the piece is selected to be moved, in purple.
+     *      - MOVED: the piece has been moved or rotated this turn, in red.
+     */
+    static final int NONE = 0;
+    static final int SELECTED = 1;
+    static final int MOVED = 2;
+    private static final int HIGHLIGHTS = 4;
+
+    static final Color SELECTED_COLOR = new Color(163,12,232,100);
+    static final Color MOVED_COLOR = new Color(255,0,0,100);
+
+    /**
+     * Sprites of each PlayerPiece indexed by (id << 2 | orientation) * HIGHLIGHTS + highlight, and of the green and
+     * yellow FacePiece.
+     */
+    private static final Image[] playerSprites = new Image[PlayerPiece.PIECES * 4 * HIGHLIGHTS];
+    private static final Image[] faceSprites = new Image[2];
+
+    /**
+     * Icon size the sprites were drawn at.
+     */
+    private static Dimension size = new Dimension();
+
+    private SpriteCache(){
+    }
+
+    /**
+     * @param playerPiece
+     *          PlayerPiece in the orientation to draw.
+     * @param highlight
+     *          NONE, or SELECTED and MOVED combined.
+     * @return
+     *          Sprite of the PlayerPiece at the current icon size.
+     */
+    static Image playerPiece(PlayerPiece playerPiece, int highlight){
+        checkSize();
+        int index = (playerPiece.getId() << 2 | playerPiece.getOrientation()) * HIGHLIGHTS + highlight;
+        if(playerSprites[index] == null){
+            BufferedImage sprite = createImage();
+            Graphics2D g2d = sprite.createGraphics();
+            new PlayerIcon(playerPiece).render(g2d);
+            if((highlight & SELECTED) != 0){
+                g2d.setColor(SELECTED_COLOR);
+                g2d.fillRect(0, 0, size.width, size.height);
+            }
+            if((highlight & MOVED) != 0){
+                g2d.setColor(MOVED_COLOR);
+                g2d.fillRect(0, 0, size.width, size.height);
+            }
+            g2d.dispose();
+            playerSprites[index] = sprite;
+        }
+        return playerSprites[index];
+    }
+
+    /**
+     * @param green
+     *          true for the FacePiece of the green player.
+     * @return
+     *          Face of the player scaled to the current icon size.
+     */
+    static Image face(boolean green){
+        checkSize();
+        int index = green ? 0 : 1;
+        if(faceSprites[index] == null){
+            Image img = green ? ImageResources.GREEN.img : ImageResources.YELLOW.img;
+
+            // Scaling smoothly is slow, but it is only done once per size.
+            Image scaled = img.getScaledInstance(size.width, size.height, Image.SCALE_SMOOTH);
+            BufferedImage sprite = createImage();
+            Graphics2D g2d = sprite.createGraphics();
+            g2d.drawImage(scaled, 0, 0, null);
+            g2d.dispose();
+            faceSprites[index] = sprite;
+        }
+        return faceSprites[index];
+    }
+
+    /**
+     * Clear the sprites if the icon size has changed since they were drawn.
+     */
+    private static void checkSize(){
+        Dimension iconSize = PrimaryView.getPreferredIconSize();
+        iconSize.width = Math.max(iconSize.width, 1);
+        iconSize.height = Math.max(iconSize.height, 1);
+        if(!iconSize.equals(size)){
+            size = iconSize;
+            Arrays.fill(playerSprites, null);
+            Arrays.fill(faceSprites, null);
+        }
+    }
+
+    private static BufferedImage createImage(){
+        if(GraphicsEnvironment.isHeadless()){
+            return new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(size.width, size.height, Transparency.TRANSLUCENT);
+    }
+}
@@ -56,7 +56,6 @@ public class SquareButton extends JButton {
      * For falling animation when the Piece dies.
      */
     private int translateY;
-    private long animStartTime;
 
     /**
      * Animation duration is about 2 seconds.
@@ -81,13 +80,13 @@ public class SquareButton extends JButton {
 
         // If the Piece is selected, then we draw highlight it with a purple alpha layer.
         if(selected){
-            g.setColor(new Color(163,12,232,100));
+            g.setColor(SpriteCache.SELECTED_COLOR);
             g.fillRect(0,0, width, height);
         }
 
         // If the Piece has been moved, then we draw highlight it with a red alpha layer.
         if(moved){
-            g.setColor(new Color(255,0,0,100));
+            g.setColor(SpriteCache.MOVED_COLOR);
             g.fillRect(0,0, width, height);
         }
     }
@@ -124,6 +123,27 @@ public class SquareButton extends JButton {
         this.selected = true;
     }
 
+    /**
+     * Clear the selected and moved flags, so that a SquareButton kept by a retained panel can show another Piece.
+     */
+    public void clearFlags() {
+        this.selected = false;
+        this.moved = false;
+    }
+
+    public Piece getPiece(){
+        return piece;
+    }
+
+    /**
+     * Bind another Piece to this SquareButton. Its look is drawn by SquareButtonDrawer.draw.
+     * @param piece
+     *          Piece to show.
+     */
+    public void setPiece(Piece piece){
+        this.piece = piece;
+    }
+
     public Position getPosition(){
         return position;
     }
@@ -137,28 +157,31 @@ public class SquareButton extends JButton {
     }
 
     /**
-     * Set a timer to illustrate the demise of the PlayerPiece.
+     * Animate the demise of the PlayerPiece on the AnimationClock.
      */
     public void fall(){
-        new Timer(100,
-                e -> {
-                    increaseTranslateY();
-                    repaint();
-                }
-        ).start();
+        land();
+        AnimationClock.start(this, this::increaseTranslateY);
+    }
+
+    /**
+     * Stop the demise of the PlayerPiece and bring the SquareButton back in place.
+     */
+    public void land(){
+        AnimationClock.stop(this);
+        translateY = 0;
     }
 
     /**
      * Increase the translateY of SquareButton to animate its demise.
      * Code snippets were referred from:
      *      http://www.java2s.com/Code/Java/Advanced-Graphics/MovingButton.htm
+     * @param totalTime
+     *          Milliseconds since the PlayerPiece started falling.
+     * @return
+     *          true until the PlayerPiece has fallen out of the SquareButton.
      */
-    public void increaseTranslateY(){
-        long currentTime = System.nanoTime() / 1000000;
-        long totalTime = currentTime - animStartTime;
-        if (totalTime > animationDuration) {
-            animStartTime = currentTime;
-        }
+    private boolean increaseTranslateY(long totalTime){
         float fraction = (float)totalTime / animationDuration;
         fraction = Math.min(1.0f, fraction);
 
@@ -166,7 +189,10 @@ public class SquareButton extends JButton {
         int boundary = PrimaryView.getPrimaryViewHeight()/2;
         if (fraction < .5f) {
             translateY = (int)(boundary * (2 * fraction));
+            return true;
         }
+        translateY = boundary;
+        return false;
     }
 
     @Override
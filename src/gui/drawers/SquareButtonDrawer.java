@@ -1,11 +1,17 @@
 package gui.drawers;
 
 import model.Position;
+import model.piece.BlankPiece;
+import model.piece.FacePiece;
 import model.piece.Piece;
 import model.piece.PlayerPiece;
 
+import javax.swing.*;
+import java.awt.*;
+
 /**
  * SquareButtonDrawer encapsulates the information needed to create a SquareButton.
+ * The model knows nothing about Swing, so this is where each type of Piece is given its look.
  */
 public class SquareButtonDrawer {
 
@@ -37,13 +43,74 @@ public class SquareButtonDrawer {
     }
 
     /**
-     * Return the custom SquareButton based on the piece which is resolved at runtime from
-     * dynamic dispatch.
+     * Return the custom SquareButton based on the type of the piece.
      * @return
      *      Customized SquareButton.
      */
     public SquareButton makeButton(){
-        return piece.createButton(position, panelType);
+        SquareButton squareButton = new SquareButton(piece, position, panelType);
+        drawPiece(squareButton);
+        return squareButton;
+    }
+
+    /**
+     * Redraw an existing SquareButton with the piece, as a retained panel keeps its SquareButton between updates.
+     * The flags and the listeners of the SquareButton are left to the panel.
+     * @param squareButton
+     *          SquareButton to redraw.
+     */
+    public void draw(SquareButton squareButton){
+        squareButton.setPiece(piece);
+        squareButton.setPanelType(panelType);
+
+        // Restore what the look of another type of piece may have changed.
+        squareButton.setIcon(null);
+        squareButton.setContentAreaFilled(true);
+        squareButton.setFocusable(true);
+        drawPiece(squareButton);
+    }
+
+    private void drawPiece(SquareButton squareButton){
+        if(piece instanceof PlayerPiece){
+            drawPlayerPiece(squareButton, (PlayerPiece) piece);
+        } else if(piece instanceof FacePiece){
+            drawFacePiece(squareButton, (FacePiece) piece);
+        } else if(piece instanceof BlankPiece){
+            drawBlankPiece(squareButton);
+        } else {
+            drawEmptyPiece(squareButton);
+        }
+    }
+
+    private void drawPlayerPiece(SquareButton squareButton, PlayerPiece playerPiece){
+        squareButton.setSize(new Dimension(50,50));
+        squareButton.setIcon(new PlayerIcon(playerPiece));
+        squareButton.setOpaque(false);
+        squareButton.setFocusable(false);
+        squareButton.setContentAreaFilled(false);
+        squareButton.setBorderPainted(false);
+    }
+
+    private void drawFacePiece(SquareButton squareButton, FacePiece facePiece){
+        // Get the scaled image for the FacePiece.
+        Image img = SpriteCache.face(facePiece.greenPlayer());
+        squareButton.setBackground(Color.BLACK);
+        squareButton.setIcon(new ImageIcon(img));
+        squareButton.setOpaque(false);
+        squareButton.setBorderPainted(false);
+    }
+
+    private void drawBlankPiece(SquareButton squareButton){
+        squareButton.setBackground(Color.GRAY);
+        squareButton.setOpaque(true);
+        squareButton.setBorderPainted(false);
+    }
+
+    private void drawEmptyPiece(SquareButton squareButton){
+        Color squareColor = ((position.getX()%2) == (position.getY()%2)) ? Color.BLACK : Color.WHITE;
+        squareButton.setBackground(squareColor);
+        squareButton.setOpaque(true);
+        squareButton.setBorderPainted(false);
     }
 
 }
@@ -3,11 +3,14 @@ package gui.views;
 import gui.controllers.BoardController;
 import gui.controllers.ButtonController;
 import gui.controllers.PlayerPanelController;
+import gui.drawers.BoardCanvas;
 import gui.drawers.BoardDrawer;
+import gui.drawers.BoardRenderer;
 import gui.drawers.CemeteryDrawer;
 import gui.drawers.Dialogs;
 import gui.drawers.PlayerPanelDrawer;
 import model.Game;
+import resources.AudioService;
 import resources.SoundResources;
 
 import javax.swing.*;
@@ -35,6 +38,7 @@ public class GameView extends JPanel {
      */
     private JToolBar toolbar;
     private JComponent greenPanel, yellowPanel, board;
+    private BoardRenderer boardRenderer;
     private JPanel greenCemetery, yellowCemetery;
     private JSplitPane leftPane, rightPane, middlePane, topPane;
 
@@ -43,6 +47,9 @@ public class GameView extends JPanel {
         this.playerPanelController = new PlayerPanelController(g);
         this.boardController = new BoardController(g);
         this.gameModel = g;
+        this.boardRenderer = PrimaryView.canvasBoard
+                ? new BoardCanvas(gameModel, this)
+                : new BoardDrawer(gameModel, this);
 
         setupToolbar();
         createPanels();
@@ -107,13 +114,12 @@ public class GameView extends JPanel {
 
     /**
      * Modify the JPanel containing the createDisplayBoard based on the state of the Board in gameModel.
-     * Return the modified JPanel of createDisplayBoard to be rendered.
+     * The same BoardRenderer is kept for the whole game, so only what changed is drawn again.
      * @return
      *      modified JPanel of createDisplayBoard.
      */
     private JComponent createBoard(){
-        BoardDrawer board = new BoardDrawer(gameModel, this);
-        return board.createBoard();
+        return boardRenderer.createBoard();
     }
 
     /**
@@ -183,7 +189,10 @@ public class GameView extends JPanel {
         leftPane.setBottomComponent(greenCemetery);
 
         middlePane.setTopComponent(topPane);
-        middlePane.setBottomComponent(board);
+        // Setting the board again would remove and lay it out again, so it is only set when it is wrapped or unwrapped.
+        if(middlePane.getBottomComponent() != board){
+            middlePane.setBottomComponent(board);
+        }
 
         rightPane.setTopComponent(yellowPanel);
         rightPane.setBottomComponent(yellowCemetery);
@@ -217,12 +226,12 @@ public class GameView extends JPanel {
     }
 
     /**
-     * beep method loads the sound that needs to be played during the game.
+     * beep method plays the sound that needs to be played during the game, in the background.
      * @param sound
      *          SoundResources of the sound that is to be played.
      */
     private void beep(SoundResources.Sound sound){
-        new SoundResources(sound);
+        AudioService.play(sound);
     }
 
     @Override
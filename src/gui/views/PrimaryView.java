@@ -3,6 +3,7 @@ package gui.views;
 import gui.controllers.ButtonController;
 import model.Board;
 import model.Game;
+import resources.AudioService;
 
 import javax.swing.*;
 import java.awt.*;
@@ -54,7 +55,15 @@ public class PrimaryView extends JComponent implements Observer {
      */
     public static Dimension primaryDimension = new Dimension(1600,750);
 
+    /**
+     * Draw the board with a single BoardCanvas rather than a grid of SquareButton. Set before the view is created.
+     */
+    public static boolean canvasBoard = false;
+
     public PrimaryView(Game g) {
+        // Decode the sounds in the background, so that the first beep does not stutter.
+        AudioService.preload();
+
         gameModel = g;
         gameModel.addObserver(this);
 
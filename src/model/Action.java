@@ -0,0 +1,102 @@
+package model;
+
+import model.piece.PlayerPiece;
+import model.player.Player.Direction;
+
+/**
+ * Action encodes a single player action (create, move, rotate or pass) into an int, so that lists of actions can be
+ * kept in primitive buffers without allocating.
+ *
+ * Bits 0-1 hold the type of the action, bits 2-7 the id of the PlayerPiece and bits 8-9 either the number of
+ * anticlockwise quarter turns (create, rotate) or the ordinal of the Direction (move).
+ */
+public final class Action {
+
+    public static final int CREATE = 0;
+    public static final int MOVE = 1;
+    public static final int ROTATE = 2;
+    public static final int PASS = 3;
+
+    /**
+     * Largest number of actions that can be legal at once: every piece of a player moved in four directions or
+     * rotated three ways, plus pass.
+     */
+    public static final int MAX_ACTIONS = PlayerPiece.PIECES / 2 * 7 + 1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private Action(){
+    }
+
+    public static int create(int id, int quarterTurns){
+        return CREATE | id << 2 | quarterTurns << 8;
+    }
+
+    public static int move(int id, Direction direction){
+        return MOVE | id << 2 | direction.ordinal() << 8;
+    }
+
+    public static int rotate(int id, int quarterTurns){
+        return ROTATE | id << 2 | quarterTurns << 8;
+    }
+
+    public static int pass(){
+        return PASS;
+    }
+
+    /**
+     * @return
+     *      CREATE, MOVE, ROTATE or PASS.
+     */
+    public static int type(int action){
+        return action & 3;
+    }
+
+    /**
+     * @return
+     *      Id of the PlayerPiece the action is applied to.
+     */
+    public static int piece(int action){
+        return (action >> 2) & 63;
+    }
+
+    /**
+     * @return
+     *      Letter of the PlayerPiece the action is applied to.
+     */
+    public static String letter(int action){
+        return PlayerPiece.letterOf(piece(action));
+    }
+
+    /**
+     * @return
+     *      Rotation in degrees of a create or rotate action.
+     */
+    public static int rotation(int action){
+        return ((action >> 8) & 3) * 90;
+    }
+
+    /**
+     * @return
+     *      Direction of a move action.
+     */
+    public static Direction direction(int action){
+        return DIRECTIONS[(action >> 8) & 3];
+    }
+
+    /**
+     * Provide a human readable string representing the action, in the same words the user would type it.
+     */
+    public static String toString(int action){
+        switch(type(action)){
+            case CREATE:
+                return "create " + letter(action) + " " + rotation(action);
+            case MOVE:
+                return "move " + letter(action) + " " + direction(action).name().toLowerCase();
+            case ROTATE:
+                return "rotate " + letter(action) + " " + rotation(action);
+            default:
+                return "pass";
+        }
+    }
+}
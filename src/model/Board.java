@@ -1,73 +1,142 @@
 package model;
 
-import gui.drawers.SquareButton;
 import model.piece.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
- * Represents the 10x10 createBoard in the Game. Each drawers on the createBoard can either be empty, or hold Piece. The createBoard
+ * Represents the 10x10 createBoard in the Game. Each square on the createBoard can either be empty, or hold Piece. The createBoard
  * is simply responsible for storing this information.
  */
 public class Board {
     /**
-     * The Game createBoard is a 2-dimensional array
+     * The Game createBoard is a 1-dimensional array of ROWS * COLS cells, one byte per square.
+     * A cell below PLAYER_CELLS holds a PlayerPiece as (id << 2 | orientation). The cells from PLAYER_CELLS upwards
+     * hold the remaining kinds of Piece.
      */
-    private Piece[][] board;
+    private byte[] cells;
 
     /**
-     * String representation of the Board in lines.
+     * PlayerPiece that have been placed on the createBoard, indexed by their id. A cell only stores the id and the
+     * orientation of its PlayerPiece, so this is where the Piece object itself is looked up from.
      */
-    private List<String> stringRepresentation;
+    private PlayerPiece[] pieces;
 
     /**
-     * The drawers in the createBoard that have been selected by the user.
+     * Cell of each PlayerPiece on the createBoard, indexed by the id of the letter of the PlayerPiece, or
+     * Position.OUTSIDE if it is not on the createBoard. Kept up to date whenever a cell is set.
+     */
+    private byte[] cellOf;
+
+    /**
+     * Zobrist hash of the cells, updated whenever a cell is set.
+     */
+    private long hash;
+
+    /**
+     * Renderer of the text of the Board, made when the text is first asked for. Clones make their own.
+     */
+    private TextRenderer renderer;
+
+    /**
+     * The square in the createBoard that has been selected by the user.
      */
     private Position selectedSquare;
 
     public static final int ROWS = 10;
     public static final int COLS = 10;
 
+    /**
+     * Kinds of cell that do not hold a PlayerPiece.
+     */
+    static final int PLAYER_CELLS = PlayerPiece.PIECES << 2;
+    static final byte EMPTY = (byte) PLAYER_CELLS;
+    static final byte BLANK = (byte) (PLAYER_CELLS + 1);
+    static final byte GREEN_FACE = (byte) (PLAYER_CELLS + 2);
+    static final byte YELLOW_FACE = (byte) (PLAYER_CELLS + 3);
+
+    /**
+     * Every Piece except PlayerPiece is immutable, so one instance of each is shared by all boards.
+     */
+    private static final Piece EMPTY_PIECE = new EmptyPiece();
+    private static final Piece BLANK_PIECE = new BlankPiece();
+    private static final Piece GREEN_FACE_PIECE = new FacePiece("1");
+    private static final Piece YELLOW_FACE_PIECE = new FacePiece("0");
+
     /**
      * Create an empty and initialized game createBoard.
      */
     public Board(){
-        this.board = new Piece[ROWS][COLS];
+        this.cells = new byte[ROWS * COLS];
+        this.pieces = new PlayerPiece[PlayerPiece.PIECES];
+        this.cellOf = new byte[PlayerPiece.PIECES];
 
         // Initialise EmptyPiece(s) in the createBoard.
         // EmptyPiece can be replaced be PlayerPiece throughout the game.
-        for(int x = 0; x < ROWS; x++){
-            for (int y = 0; y < COLS; y++){
-                setSquare(new Position(x,y), new EmptyPiece());
-            }
+        Arrays.fill(cells, EMPTY);
+        Arrays.fill(cellOf, (byte) Position.OUTSIDE);
+        for(int cell = 0; cell < cells.length; cell++){
+            hash ^= Zobrist.cell(cell, EMPTY);
         }
 
         // Initialise the BlankPiece on specific Position on the createBoard.
-        // The drawers must always remain a BlankPiece.
-        setSquare(new Position(0,0), new BlankPiece());
-        setSquare(new Position(0,1), new BlankPiece());
-        setSquare(new Position(1,0), new BlankPiece());
-        setSquare(new Position(9,9), new BlankPiece());
-        setSquare(new Position(8,9), new BlankPiece());
-        setSquare(new Position(9,8), new BlankPiece());
+        // These squares must always remain a BlankPiece.
+        setSquare(Position.of(0,0), BLANK_PIECE);
+        setSquare(Position.of(0,1), BLANK_PIECE);
+        setSquare(Position.of(1,0), BLANK_PIECE);
+        setSquare(Position.of(9,9), BLANK_PIECE);
+        setSquare(Position.of(8,9), BLANK_PIECE);
+        setSquare(Position.of(9,8), BLANK_PIECE);
 
         // Initialise the Player's FacePiece on the createBoard.
-        // The drawers must always remain a FacePiece.
-        setSquare(new Position(1,1), new FacePiece("1"));
-        setSquare(new Position(8,8), new FacePiece("0"));
+        // These squares must always remain a FacePiece.
+        setSquare(Position.of(1,1), GREEN_FACE_PIECE);
+        setSquare(Position.of(8,8), YELLOW_FACE_PIECE);
+    }
 
-        updateStringRepresentation();
+    /**
+     * Create a board that takes over the given cells and pieces. Used for cloning.
+     */
+    private Board(byte[] cells, PlayerPiece[] pieces, byte[] cellOf, long hash){
+        this.cells = cells;
+        this.pieces = pieces;
+        this.cellOf = cellOf;
+        this.hash = hash;
     }
 
     /**
      * Get the Piece at a given x and y position.
      * @param pos
-     *          Position of drawers to get
+     *          Position of the square to get
      * @return
      */
     public Piece getSquare(Position pos){
-        return board[pos.getX()][pos.getY()];
+        return pieceAt(pos.index());
+    }
+
+    /**
+     * Decode the Piece stored in a cell. Reading does not change anything: a PlayerPiece is brought in line with its
+     * cell whenever the cell is set, so it already has the orientation and position of the cell.
+     * @param cell
+     *          Index of the cell.
+     * @return
+     *          Piece in the cell.
+     */
+    private Piece pieceAt(int cell){
+        int value = cells[cell] & 0xFF;
+        if(value < PLAYER_CELLS){
+            return pieces[value >> 2];
+        }
+        switch(cells[cell]){
+            case BLANK:
+                return BLANK_PIECE;
+            case GREEN_FACE:
+                return GREEN_FACE_PIECE;
+            case YELLOW_FACE:
+                return YELLOW_FACE_PIECE;
+            default:
+                return EMPTY_PIECE;
+        }
     }
 
 
@@ -79,12 +148,11 @@ public class Board {
      *      True if it is out of the createBoard. False otherwise.
      */
     public boolean outOfBoard(Position pos){
-        return pos.getX() < 0 ||
-                pos.getX() >= 10 ||
-                pos.getY() < 0 ||
-                pos.getY() >= 10 ||
-                getSquare(pos) instanceof FacePiece ||
-                getSquare(pos) instanceof BlankPiece;
+        if(pos.outsideOfBoard()){
+            return true;
+        }
+        byte value = cells[pos.index()];
+        return value == BLANK || value == GREEN_FACE || value == YELLOW_FACE;
     }
 
     /**
@@ -95,32 +163,125 @@ public class Board {
      *          Corresponding PlayerPiece if found. Null if it is not represent.
      */
     public PlayerPiece findPiece(String letter){
-        for(int x = 0; x < board.length; x++){
-            for(int y = 0; y < board[0].length; y++){
-                if(board[x][y] instanceof PlayerPiece){
-                    PlayerPiece p = (PlayerPiece) board[x][y];
-                    if(p.getLetter().equals(letter))
-                        return p;
-                }
+        int id = PlayerPiece.idOf(letter);
+        return cellOf[id] == Position.OUTSIDE ? null : pieces[id];
+    }
+
+    /**
+     * Write the index of every cell holding a PlayerPiece into the start of the buffer, in the order of the ids of
+     * the PlayerPiece.
+     * @param buffer
+     *          Buffer of at least PlayerPiece.PIECES ints to fill.
+     * @return
+     *          Number of PlayerPiece on the createBoard.
+     */
+    public int getPieceCells(int[] buffer){
+        int count = 0;
+        for(int id = 0; id < PlayerPiece.PIECES; id++){
+            if(cellOf[id] != Position.OUTSIDE){
+                buffer[count++] = cellOf[id];
             }
         }
-        return null;
+        return count;
     }
 
     /**
-     * Set the Piece at a given x and y position or null (to set the drawers as empty).
+     * Set the Piece at a given x and y position or null (to set the square as empty).
      * @param pos
-     *          Position of drawers to set
+     *          Position of the square to set
      * @param piece
      *          Piece to place at that position.
      */
     public void setSquare(Position pos, Piece piece){
-        board[pos.getX()][pos.getY()] = piece;
+        setCell(index(pos), encode(piece));
+    }
+
+    /**
+     * @param pos
+     *          Position on the createBoard.
+     * @return
+     *          Index of the cell at the position.
+     */
+    static int index(Position pos){
+        return pos.index();
+    }
+
+    /**
+     * @param cell
+     *          Index of the cell.
+     * @return
+     *          Value stored in the cell.
+     */
+    byte getCell(int cell){
+        return cells[cell];
+    }
+
+    /**
+     * Get the PlayerPiece in a cell.
+     * @param cell
+     *          Index of the cell.
+     * @return
+     *          PlayerPiece in the cell, or null if the cell does not hold one.
+     */
+    PlayerPiece getPlayerPiece(int cell){
+        int value = cells[cell] & 0xFF;
+        return value < PLAYER_CELLS ? pieces[value >> 2] : null;
+    }
+
+    /**
+     * Store a value in a cell. The value must have been produced by this createBoard. A PlayerPiece stored in the cell
+     * takes the orientation and position of the cell, which is also how reverting a cell puts its PlayerPiece back.
+     * @param cell
+     *          Index of the cell.
+     * @param value
+     *          Value to store.
+     */
+    void setCell(int cell, byte value){
+        hash ^= Zobrist.cell(cell, cells[cell]) ^ Zobrist.cell(cell, value);
+
+        // A PlayerPiece moved to another cell is set there before its old cell is emptied, so only forget the cell
+        // of the PlayerPiece if it is still recorded here.
+        int old = cells[cell] & 0xFF;
+        if(old < PLAYER_CELLS && cellOf[old >> 2] == cell){
+            cellOf[old >> 2] = (byte) Position.OUTSIDE;
+        }
+        if((value & 0xFF) < PLAYER_CELLS){
+            int id = (value & 0xFF) >> 2;
+            cellOf[id] = (byte) cell;
+            pieces[id].setOrientation(value & 3);
+            pieces[id].setPosition(Position.at(cell));
+        }
+        cells[cell] = value;
     }
 
-    public Piece getPiece(SquareButton squareButton){
-        Position position = squareButton.getPosition();
-        return board[position.getX()][position.getY()];
+    /**
+     * Return the Zobrist hash of the createBoard. It covers the Piece in every square as well as the orientation of
+     * every PlayerPiece.
+     * @return
+     *          Hash of the cells.
+     */
+    public long getHash(){
+        return hash;
+    }
+
+    /**
+     * Encode the Piece into the byte stored in a cell, registering a PlayerPiece by its id.
+     * @param piece
+     *          Piece to encode.
+     * @return
+     *          Value of the cell.
+     */
+    private byte encode(Piece piece){
+        if(piece instanceof PlayerPiece){
+            PlayerPiece playerPiece = (PlayerPiece) piece;
+            pieces[playerPiece.getId()] = playerPiece;
+            return (byte) (playerPiece.getId() << 2 | playerPiece.getOrientation());
+        } else if(piece instanceof BlankPiece){
+            return BLANK;
+        } else if(piece instanceof FacePiece){
+            return ((FacePiece) piece).greenPlayer() ? GREEN_FACE : YELLOW_FACE;
+        }
+        return EMPTY;
     }
 
     public void setSelectedSquare(Position selectedSquare){
@@ -138,44 +299,12 @@ public class Board {
     }
 
 
-    /**
-     * Update the String representation of the createBoard line by line.
-     */
-    private void updateStringRepresentation(){
-        this.stringRepresentation = new ArrayList<>();
-        stringRepresentation.add("     0   1   2   3   4   5   6   7   8   9  ");
-        stringRepresentation.add(border());
-
-        String line1, line2, line3;
-
-        for(int row = 0; row < board.length; row++){
-            line1 = "   |";
-            line2 = " " + row + " |";
-            line3 = "   |";
-            for(int col = 0; col < board[0].length; col++){
-                Piece piece = board[row][col];
-                line1 += piece.topLine()    + "|";
-                line2 += piece.midLine()    + "|";
-                line3 += piece.bottomLine() + "|";
-            }
-            stringRepresentation.add(line1);
-            stringRepresentation.add(line2);
-            stringRepresentation.add(line3);
-            stringRepresentation.add(border());
-        }
-    }
-
     /**
      * Construct the string representation of the createBoard.
      * @return
      */
     public String toString(){
-        updateStringRepresentation();
-        String output = "";
-        for(String string : stringRepresentation){
-            output+= string + "\n";
-        }
-        return output;
+        return renderer().render(this).toString();
     }
 
     /**
@@ -186,8 +315,14 @@ public class Board {
      *          String of the line number specified.
      */
     public String toLine(int num){
-        updateStringRepresentation();
-        return stringRepresentation.get(num);
+        return renderer().renderLine(this, num);
+    }
+
+    private TextRenderer renderer(){
+        if(renderer == null){
+            renderer = new TextRenderer();
+        }
+        return renderer;
     }
 
     /**
@@ -199,18 +334,18 @@ public class Board {
     }
 
     /**
-     * Deep clone the current Board object.
+     * Deep clone the current Board object. The PlayerPiece are copied too, so that moving or rotating them on the
+     * clone leaves the PlayerPiece of this createBoard as they are.
      * @return
      *      Cloned Board.
      */
     public Board clone(){
-        Board clone = new Board();
-
-        for(int row = 0; row < board.length; row++){
-            for(int col = 0; col < board[0].length; col++){
-                clone.board[row][col] = board[row][col].clone();
+        PlayerPiece[] clonedPieces = new PlayerPiece[pieces.length];
+        for(int id = 0; id < pieces.length; id++){
+            if(pieces[id] != null){
+                clonedPieces[id] = pieces[id].clone();
             }
         }
-        return clone;
+        return new Board(cells.clone(), clonedPieces, cellOf.clone(), hash);
     }
 }
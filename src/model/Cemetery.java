@@ -1,29 +1,58 @@
 package model;
 
 import model.piece.BlankPiece;
-import model.piece.EmptyPiece;
 import model.piece.Piece;
 import model.piece.PlayerPiece;
 import model.player.Player;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Represents a the PlayerPiece that are in the cemetery. As the game progresses, the number of PlayerPiece should
  * increase.
+ *
+ * The cemetery is a bitmask of the ids of the PlayerPiece in it, to check whether a PlayerPiece is dead and count the
+ * dead of each player in constant time, along with a log of the PlayerPiece in the order they arrived in.
  */
 public class Cemetery {
 
+    private static final long GREEN_PIECES = (1L << PlayerPiece.PIECES / 2) - 1;
+
+    /**
+     * Ids of the PlayerPiece in the cemetery.
+     */
+    private long dead;
+
+    /**
+     * PlayerPiece that have landed in the cemetery, in the order they arrived in.
+     */
+    private PlayerPiece[] log;
+    private int size;
+
+    /**
+     * Zobrist hash of the PlayerPiece in the cemetery, updated whenever a PlayerPiece is added.
+     */
+    private long hash;
+
     /**
-     * PlayerPiece that have landed in the cemetery.
+     * Pieces of the green and the yellow player laid out for the GUI, made when first asked for and until the
+     * cemetery changes. Each cemetery has its own array, so that the slots can be cleared in place when it changes,
+     * and a clone starts with the layouts made so far.
      */
-    public List<PlayerPiece> cemetery;
+    private final Piece[][][] views;
+
+    /**
+     * Renderer of the text of the cemetery, made when the text is first asked for. Clones make their own.
+     */
+    private TextRenderer renderer;
+
+    private static final Piece BLANK_PIECE = new BlankPiece();
 
     public Cemetery(){
-        cemetery = new ArrayList<>();
+        log = new PlayerPiece[PlayerPiece.PIECES];
+        views = new Piece[2][][];
     }
 
     /**
@@ -32,7 +61,41 @@ public class Cemetery {
      *          Piece to add.
      */
     public void add(PlayerPiece piece){
-        cemetery.add(piece);
+        dead |= 1L << piece.getId();
+        log[size++] = piece;
+        hash ^= Zobrist.cemetery(piece.getId());
+        views[0] = null;
+        views[1] = null;
+    }
+
+    /**
+     * Remove piece from cemetery. Used to revert the game to an earlier state.
+     * @param piece
+     *          Piece to remove.
+     */
+    public void remove(PlayerPiece piece){
+        if(!contains(piece)){
+            return;
+        }
+        // The game is reverted latest change first, so the piece is usually the last to have arrived.
+        int index = size - 1;
+        while(log[index].getId() != piece.getId()){
+            index--;
+        }
+        System.arraycopy(log, index + 1, log, index, size - index - 1);
+        log[--size] = null;
+        dead &= ~(1L << piece.getId());
+        hash ^= Zobrist.cemetery(piece.getId());
+        views[0] = null;
+        views[1] = null;
+    }
+
+    /**
+     * @return
+     *      Zobrist hash of the PlayerPiece in the cemetery.
+     */
+    public long getHash(){
+        return hash;
     }
 
     /**
@@ -43,58 +106,48 @@ public class Cemetery {
      *          True if it is in the cemetery. False otherwise.
      */
     public boolean contains(PlayerPiece piece){
-        return cemetery.contains(piece);
+        return (dead & 1L << piece.getId()) != 0;
     }
 
     /**
-     * Return the String representation of the cemetery in a 3 * 16 board.
      * @return
+     *      Bitmask of the ids of the PlayerPiece in the cemetery.
      */
-    public String toString(){
-        int ROWS = 3;
-        int COLS = 16;
-        Piece[][] pieces = new Piece[ROWS][COLS];
-        int row = 0;
-        int col = 0;
-
-        for(int i = 0; i < ROWS; i++){
-            for(int j = 0; j < COLS; j++){
-                pieces[i][j] = new EmptyPiece();
-            }
-        }
+    long getMask(){
+        return dead;
+    }
 
-        cemetery.sort(Comparator.comparing(PlayerPiece::getLetter));
+    /**
+     * @return
+     *      Read-only copy of the PlayerPiece in the cemetery in the order they arrived in. It does not change with
+     *      the cemetery.
+     */
+    public List<PlayerPiece> getDeadPieces(){
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(log, size)));
+    }
 
-        for(int k = 0; k < cemetery.size(); k++){
-            pieces[row][col++] = cemetery.get(k);
-            if(col == COLS){
-                col = 0;
-                row++;
-            }
+    /**
+     * @param index
+     *          Index of the PlayerPiece in the order they arrived in, below getDeadPiecesCount.
+     * @return
+     *      PlayerPiece at the index, read without copying the cemetery like getDeadPieces.
+     */
+    public PlayerPiece getDeadPiece(int index){
+        if(index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         }
-        String output = "";
-        output += indent() + "---------------------------REST IN PEACE-----------------------------\n";
-        output += indent() + "XXXXXXXXXXXXXXXXXXXXXXXXXXXX CEMETERY XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX\n";
-        output +=  border();
-
-        String line1, line2, line3;
-        for(row = 0; row < pieces.length; row++){
-            line1 = indent() + "X |";
-            line2 = indent() + "X |";
-            line3 = indent() + "X |";
-            for(col = 0; col < pieces[0].length; col++){
-                Piece piece = pieces[row][col];
-                line1 += piece.topLine()    + "|";
-                line2 += piece.midLine()    + "|";
-                line3 += piece.bottomLine() + "|";
-            }
-            line1 += " X\n";
-            line2 += " X\n";
-            line3 += " X\n";
-            output += line1 + line2 + line3 + border();
+        return log[index];
+    }
+
+    /**
+     * Return the String representation of the cemetery in a 3 * 16 board.
+     * @return
+     */
+    public String toString(){
+        if(renderer == null){
+            renderer = new TextRenderer();
         }
-        output += indent() + "XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX";
-        return output;
+        return renderer.render(this).toString();
     }
 
     public String border(){
@@ -117,31 +170,7 @@ public class Cemetery {
      * @return
      */
     public Piece[][] getGreenPiecesInCemetery(){
-        int rows = 4;
-        int cols = 6;
-        Piece[][] pieces = new Piece[rows][cols];
-        int row = 0;
-        int col = 0;
-
-        for(int i = 0; i < rows; i++){
-            for(int j = 0; j < cols; j++){
-                pieces[i][j] = new BlankPiece();
-            }
-        }
-
-        List<PlayerPiece> greenCemetery = cemetery.stream()
-                .filter(piece -> piece.greenPlayer())
-                .collect(Collectors.toList());
-
-        for(int k = 0; k < greenCemetery.size(); k++){
-            pieces[row][col++] = greenCemetery.get(k);
-            if(col == cols){
-                col = 0;
-                row++;
-            }
-        }
-
-        return pieces;
+        return getPiecesInCemetery(true);
     }
 
     /**
@@ -149,30 +178,34 @@ public class Cemetery {
      * @return
      */
     public Piece[][] getYellowPiecesInCemetery(){
+        return getPiecesInCemetery(false);
+    }
+
+    /**
+     * Lay out the PlayerPiece of a player in a 4 * 6 grid, in the order they arrived in. The grid is kept until the
+     * cemetery changes, so it must not be modified.
+     */
+    private Piece[][] getPiecesInCemetery(boolean green){
+        int view = green ? 0 : 1;
+        if(views[view] != null){
+            return views[view];
+        }
+
         int rows = 4;
         int cols = 6;
         Piece[][] pieces = new Piece[rows][cols];
-        int row = 0;
-        int col = 0;
-
         for(int i = 0; i < rows; i++){
-            for(int j = 0; j < cols; j++){
-                pieces[i][j] = new BlankPiece();
-            }
+            Arrays.fill(pieces[i], BLANK_PIECE);
         }
 
-        List<PlayerPiece> yellowCemetery = cemetery.stream()
-                .filter(piece -> piece.yellowPlayer())
-                .collect(Collectors.toList());
-
-        for(int k = 0; k < yellowCemetery.size(); k++){
-            pieces[row][col++] = yellowCemetery.get(k);
-            if(col == cols){
-                col = 0;
-                row++;
+        int index = 0;
+        for(int k = 0; k < size; k++){
+            if(log[k].greenPlayer() == green){
+                pieces[index / cols][index % cols] = log[k];
+                index++;
             }
         }
-
+        views[view] = pieces;
         return pieces;
     }
 
@@ -182,7 +215,18 @@ public class Cemetery {
      *      Number of Pieces in the cemetery.
      */
     public int getDeadPiecesCount(){
-        return cemetery.size();
+        return size;
+    }
+
+    /**
+     * Return how many pieces of the player have landed in the cemetery.
+     * @param player
+     *          Player owning the pieces.
+     * @return
+     *      Number of the player's Pieces in the cemetery.
+     */
+    public int getDeadPiecesCount(Player player){
+        return Long.bitCount(player.isGreen() ? dead & GREEN_PIECES : dead & ~GREEN_PIECES);
     }
 
     /**
@@ -192,9 +236,12 @@ public class Cemetery {
      */
     public Cemetery clone(){
         Cemetery clone = new Cemetery();
-        for(PlayerPiece piece : cemetery){
-            clone.cemetery.add(piece);
-        }
+        System.arraycopy(log, 0, clone.log, 0, size);
+        clone.size = size;
+        clone.dead = dead;
+        clone.hash = hash;
+        clone.views[0] = views[0];
+        clone.views[1] = views[1];
         return clone;
     }
 
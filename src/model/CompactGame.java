@@ -0,0 +1,576 @@
+package model;
+
+import model.piece.PlayerPiece;
+import model.player.GreenPlayer;
+import model.player.Player;
+import model.player.Player.Direction;
+import model.player.YellowPlayer;
+import model.reaction.Reaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CompactGame is a lightweight copy of the state of a Game that plays by the same rules, for bots that play
+ * many games out to their end. It keeps the createBoard as the same cells as Board and every set of PlayerPiece as a
+ * bitmask of their ids, so copying it is a couple of array copies and it has no observers, commands or status.
+ *
+ * The actions are encoded with Action, and generateActions lists them in the same way as Game.
+ *
+ * The rules are not defined again here: the items come from the startingPieces of the players, the outcome of two
+ * items from Reaction.outcome and the limit of the pushes from Game. Only the order in which a move shifts pieces and
+ * checks their reactions is walked through again on the cells, and test_CompactGame_SameRules keeps it in step with
+ * Game.
+ */
+public final class CompactGame {
+
+    private static final int CELLS = Board.ROWS * Board.COLS;
+    private static final int NO_CELL = Position.OUTSIDE;
+
+    private static final int GREEN_CREATION_GRID = Board.index(GreenPlayer.CREATION_GRID);
+    private static final int YELLOW_CREATION_GRID = Board.index(YellowPlayer.CREATION_GRID);
+
+    /**
+     * Ids of the PlayerPiece of each player as a bitmask.
+     */
+    private static final long GREEN_PIECES = (1L << PlayerPiece.PIECES / 2) - 1;
+    private static final long YELLOW_PIECES = GREEN_PIECES << PlayerPiece.PIECES / 2;
+
+    /**
+     * Ordinal of the Item held at each side of a PlayerPiece, indexed by id, orientation and the ordinal of the
+     * Direction, and whether each Item is a sword.
+     */
+    private static final boolean[] SWORDS = new boolean[PlayerPiece.Item.values().length];
+    private static final byte[] ITEMS = new byte[PlayerPiece.PIECES * 4 * 4];
+
+    /**
+     * Ordinals of the Direction in the order reactions are checked, as in PlayerPiece.DIRECTIONS.
+     */
+    private static final int[] REACTION_ORDER = new int[4];
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    static {
+        for(PlayerPiece.Item item : PlayerPiece.Item.values()){
+            SWORDS[item.ordinal()] = item.isSword();
+        }
+        for(int i = 0; i < 4; i++){
+            REACTION_ORDER[i] = PlayerPiece.DIRECTIONS[i].ordinal();
+        }
+        List<PlayerPiece> pieces = new ArrayList<>(GreenPlayer.startingPieces());
+        pieces.addAll(YellowPlayer.startingPieces());
+        for(PlayerPiece piece : pieces){
+            for(int orientation = 0; orientation < 4; orientation++){
+                piece.setOrientation(orientation);
+                for(Direction direction : DIRECTIONS){
+                    ITEMS[(piece.getId() * 4 + orientation) * 4 + direction.ordinal()] =
+                            (byte) piece.getItem(direction).ordinal();
+                }
+            }
+        }
+    }
+
+    private final byte[] cells = new byte[CELLS];
+
+    /**
+     * Cell of each PlayerPiece on the createBoard, or NO_CELL.
+     */
+    private final byte[] cellOf = new byte[PlayerPiece.PIECES];
+
+    private long hands;
+    private long future;
+    private long cemetery;
+    private Game.Phase phase;
+    private boolean green;
+    private int moves;
+    private boolean gameOver;
+    private boolean greenWon;
+
+    /**
+     * Number of pushes nesting inside one another, counting the move of the action itself.
+     */
+    private int pushDepth;
+
+    /**
+     * Set once the pushes of the action being played nest deeper than MAX_PUSH_DEPTH, like in Game.
+     */
+    private boolean unsettled;
+
+    /**
+     * Copy taken before an action, to go back to if the action is rejected.
+     */
+    private CompactGame backup;
+
+    /**
+     * Copy the current state of the game.
+     */
+    public CompactGame(Game game){
+        Board board = game.getBoard();
+        Arrays.fill(cellOf, (byte) NO_CELL);
+        for(int cell = 0; cell < CELLS; cell++){
+            cells[cell] = board.getCell(cell);
+            if((cells[cell] & 0xFF) < Board.PLAYER_CELLS){
+                cellOf[(cells[cell] & 0xFF) >> 2] = (byte) cell;
+            }
+        }
+
+        Player current = game.getCurrentPlayer();
+        Player other = current.isGreen() ? game.getYellowPlayer() : game.getGreenPlayer();
+        for(Player player : new Player[]{current, other}){
+            for(int i = 0; i < player.hand.size(); i++){
+                hands |= 1L << player.hand.getPiece(i).getId();
+            }
+        }
+        future = game.getFutureMask();
+        for(PlayerPiece piece : game.getCemetery().getDeadPieces()){
+            cemetery |= 1L << piece.getId();
+        }
+
+        phase = game.getGamePhase();
+        green = current.isGreen();
+        moves = game.getMoves();
+        gameOver = game.gameOver();
+        greenWon = gameOver && game.getWinner().isGreen();
+    }
+
+    /**
+     * Create an empty copy, to be filled by copyFrom.
+     */
+    public CompactGame(){
+        Arrays.fill(cellOf, (byte) NO_CELL);
+        phase = Game.Phase.DISPLAY;
+    }
+
+    /**
+     * Make this a copy of the other state, without allocating.
+     */
+    public void copyFrom(CompactGame other){
+        System.arraycopy(other.cells, 0, cells, 0, CELLS);
+        System.arraycopy(other.cellOf, 0, cellOf, 0, PlayerPiece.PIECES);
+        hands = other.hands;
+        future = other.future;
+        cemetery = other.cemetery;
+        phase = other.phase;
+        green = other.green;
+        moves = other.moves;
+        gameOver = other.gameOver;
+        greenWon = other.greenWon;
+    }
+
+    /**
+     * Make this a copy of the state, without allocating.
+     */
+    public void copyFrom(GameState state){
+        Arrays.fill(cellOf, (byte) NO_CELL);
+        for(int cell = 0; cell < CELLS; cell++){
+            cells[cell] = state.getCell(cell);
+            if((cells[cell] & 0xFF) < Board.PLAYER_CELLS){
+                cellOf[(cells[cell] & 0xFF) >> 2] = (byte) cell;
+            }
+        }
+        hands = state.getHands();
+        future = state.getFuture();
+        cemetery = state.getCemetery();
+        phase = state.getGamePhase();
+        green = state.greenToMove();
+        moves = state.getMoves();
+        gameOver = state.gameOver();
+        greenWon = state.greenWon();
+    }
+
+    byte getCell(int cell){
+        return cells[cell];
+    }
+
+    /**
+     * @return
+     *      Ids of the PlayerPiece in the hands of both players.
+     */
+    long getHands(){
+        return hands;
+    }
+
+    /**
+     * @return
+     *      Ids of the PlayerPiece in future.
+     */
+    long getFuture(){
+        return future;
+    }
+
+    /**
+     * @return
+     *      Ids of the PlayerPiece in the cemetery.
+     */
+    long getCemetery(){
+        return cemetery;
+    }
+
+    public boolean gameOver(){
+        return gameOver;
+    }
+
+    /**
+     * @return
+     *      true if the green player won the game.
+     */
+    public boolean greenWon(){
+        return greenWon;
+    }
+
+    /**
+     * @return
+     *      true if it is the green player's turn.
+     */
+    public boolean greenToMove(){
+        return green;
+    }
+
+    public Game.Phase getGamePhase(){
+        return phase;
+    }
+
+    public int getMoves(){
+        return moves;
+    }
+
+    /**
+     * @return
+     *      Number of PlayerPiece of the player in the cemetery.
+     */
+    public int getDeadPiecesCount(boolean green){
+        return Long.bitCount(cemetery & (green ? GREEN_PIECES : YELLOW_PIECES));
+    }
+
+    /**
+     * @return
+     *      Zobrist hash of the state, the same as Game.getZobristHash for the same state.
+     */
+    public long getZobristHash(){
+        long hash = Zobrist.side(green) ^ Zobrist.phase(phase);
+        for(int cell = 0; cell < CELLS; cell++){
+            hash ^= Zobrist.cell(cell, cells[cell]);
+        }
+        for(int id = 0; id < PlayerPiece.PIECES; id++){
+            if((future & 1L << id) != 0){
+                hash ^= Zobrist.future(id);
+            }
+            if((cemetery & 1L << id) != 0){
+                hash ^= Zobrist.cemetery(id);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Generate every action the current player can take, like Game.generateActions.
+     * @param actions
+     *          Buffer of at least Action.MAX_ACTIONS ints to fill.
+     * @return
+     *          Number of actions written to the buffer.
+     */
+    public int generateActions(int[] actions){
+        int count = 0;
+        if(gameOver){
+            return count;
+        }
+
+        switch(phase){
+            case DISPLAY:
+            case CREATE:
+                if(cells[creationGrid()] == Board.EMPTY){
+                    for(long hand = hands & own(); hand != 0; hand &= hand - 1){
+                        int id = Long.numberOfTrailingZeros(hand);
+                        for(int turns = 0; turns < 4; turns++){
+                            actions[count++] = Action.create(id, turns);
+                        }
+                    }
+                }
+                break;
+            case ACTION:
+                for(long pieces = future & own(); pieces != 0; pieces &= pieces - 1){
+                    int id = Long.numberOfTrailingZeros(pieces);
+                    if(cellOf[id] == NO_CELL){
+                        continue;
+                    }
+                    for(Direction direction : PlayerPiece.DIRECTIONS){
+                        actions[count++] = Action.move(id, direction);
+                    }
+                    for(int turns = 1; turns < 4; turns++){
+                        actions[count++] = Action.rotate(id, turns);
+                    }
+                }
+                break;
+            case FINAL:
+                break;
+        }
+
+        if(phase != Game.Phase.CREATE){
+            actions[count++] = Action.pass();
+        }
+        return count;
+    }
+
+    /**
+     * Play an action, by the same rules as Game. An action that cannot be played leaves the state as it was.
+     * @param action
+     *          Action to play.
+     * @return
+     *          false if the reactions of the action never settle.
+     * @throws IllegalArgumentException
+     *          if the action is not valid in the current state.
+     */
+    public boolean apply(int action){
+        if(Action.type(action) == Action.PASS){
+            pass();
+            return true;
+        }
+
+        if(backup == null){
+            backup = new CompactGame();
+        }
+        backup.copyFrom(this);
+        try {
+            switch(Action.type(action)){
+                case Action.CREATE:
+                    create(Action.piece(action), Action.rotation(action) / 90);
+                    break;
+                case Action.MOVE:
+                    move(Action.piece(action), Action.direction(action).ordinal());
+                    break;
+                default:
+                    rotate(Action.piece(action), Action.rotation(action) / 90);
+                    break;
+            }
+        } catch (IllegalArgumentException e){
+            pushDepth = 0;
+            copyFrom(backup);
+            throw e;
+        }
+        if(unsettled){
+            unsettled = false;
+            copyFrom(backup);
+            return false;
+        }
+        return true;
+    }
+
+    private void create(int id, int turns){
+        future = onBoard(own());
+        if(cells[creationGrid()] != Board.EMPTY){
+            throw new IllegalArgumentException("Your creation grid is occupied");
+        } else if((hands & own() & 1L << id) == 0){
+            throw new IllegalArgumentException("You do not have such piece to create");
+        }
+
+        hands &= ~(1L << id);
+        future |= 1L << id;
+        place(id, turns, creationGrid());
+        checkForReactions(id);
+        phase = future == 0 ? Game.Phase.FINAL : Game.Phase.ACTION;
+    }
+
+    private void move(int id, int direction){
+        if(cellOf[id] == NO_CELL){
+            throw new IllegalArgumentException("No such piece is found on the createBoard");
+        } else if((own() & 1L << id) == 0){
+            throw new IllegalArgumentException("This piece does not belong to you");
+        } else if((future & 1L << id) == 0){
+            throw new IllegalArgumentException("This piece has already been moved/rotated");
+        }
+        future &= ~(1L << id);
+        push(id, direction);
+    }
+
+    private void rotate(int id, int turns){
+        if(cellOf[id] == NO_CELL){
+            throw new IllegalArgumentException("No such piece is found on the createBoard");
+        } else if((own() & 1L << id) == 0){
+            throw new IllegalArgumentException("This piece does not belong to you");
+        } else if((future & 1L << id) == 0){
+            throw new IllegalArgumentException("This piece has already been acted");
+        }
+        future &= ~(1L << id);
+        int cell = cellOf[id];
+        place(id, ((cells[cell] & 3) + turns) & 3, cell);
+        checkForReactions(id);
+        if(future == 0){
+            phase = Game.Phase.FINAL;
+        }
+    }
+
+    private void pass(){
+        switch(phase){
+            case DISPLAY:
+                future = onBoard(own());
+                phase = future == 0 ? Game.Phase.FINAL : Game.Phase.ACTION;
+                break;
+            case ACTION:
+            case FINAL:
+                phase = Game.Phase.DISPLAY;
+                moves++;
+                green = !green;
+                future = onBoard(own());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Move the PlayerPiece one square along with the line of neighbors in front of it, then check for reactions
+     * from the front of the line back to the piece, like a move in Game.
+     */
+    private void push(int id, int direction){
+        if(unsettled){
+            return;
+        }
+        // The move itself is counted here too, unlike in Game.
+        if(pushDepth == Game.MAX_PUSH_DEPTH + 1){
+            unsettled = true;
+            return;
+        }
+        pushDepth++;
+        int moved = shift(id, direction);
+        checkForReactions(id, direction, moved);
+        if(future == 0){
+            phase = Game.Phase.FINAL;
+        }
+        pushDepth--;
+    }
+
+    /**
+     * @return
+     *      Number of PlayerPiece of the line that are still on the createBoard after the move.
+     */
+    private int shift(int id, int direction){
+        int cell = cellOf[id];
+        int next = Position.neighbor(cell, DIRECTIONS[direction]);
+        if(next == NO_CELL || isBlankOrFace(next)){
+            eliminate(id);
+            return 0;
+        }
+
+        int moved = 1;
+        int value = cells[next] & 0xFF;
+        if(value < Board.PLAYER_CELLS){
+            moved += shift(value >> 2, direction);
+        }
+
+        int orientation = cells[cell] & 3;
+        cells[cell] = Board.EMPTY;
+        place(id, orientation, next);
+        return moved;
+    }
+
+    private void checkForReactions(int id, int direction, int moved){
+        if(moved == 0){
+            return;
+        }
+        if(moved > 1){
+            int next = Position.neighbor(cellOf[id], DIRECTIONS[direction]);
+            checkForReactions((cells[next] & 0xFF) >> 2, direction, moved - 1);
+        }
+        checkForReactions(id);
+    }
+
+    /**
+     * Check for reactions around the PlayerPiece one direction at a time, like Game.checkForReactions.
+     */
+    private void checkForReactions(int id){
+        for(int direction : REACTION_ORDER){
+            if(unsettled || cellOf[id] == NO_CELL){
+                return;
+            }
+
+            int cell = cellOf[id];
+            int next = Position.neighbor(cell, DIRECTIONS[direction]);
+            if(next == NO_CELL){
+                continue;
+            }
+
+            byte item = item(cells[cell], direction);
+            int value = cells[next] & 0xFF;
+            if(value < Board.PLAYER_CELLS){
+                int other = value >> 2;
+                switch(Reaction.outcome(item, item(cells[next], direction ^ 1))){
+                    case Reaction.ELIMINATE_TWO:
+                        eliminate(other);
+                        break;
+                    case Reaction.ELIMINATE_ONE:
+                        eliminate(id);
+                        break;
+                    case Reaction.ELIMINATE_BOTH:
+                        eliminate(id);
+                        eliminate(other);
+                        break;
+                    case Reaction.PUSH_ONE:
+                        push(id, direction ^ 1);
+                        break;
+                    case Reaction.PUSH_TWO:
+                        push(other, direction);
+                        break;
+                }
+            } else if(SWORDS[item]){
+                boolean greenPiece = id < PlayerPiece.PIECES / 2;
+                if((greenPiece && cells[next] == Board.YELLOW_FACE) || (!greenPiece && cells[next] == Board.GREEN_FACE)){
+                    phase = Game.Phase.DISPLAY;
+                    gameOver = true;
+                    greenWon = greenPiece;
+                }
+            }
+        }
+    }
+
+    private void eliminate(int id){
+        if((cemetery & 1L << id) != 0){
+            return;
+        }
+        cemetery |= 1L << id;
+        future &= ~(1L << id);
+        cells[cellOf[id]] = Board.EMPTY;
+        cellOf[id] = NO_CELL;
+    }
+
+    private void place(int id, int orientation, int cell){
+        cells[cell] = (byte) (id << 2 | orientation);
+        cellOf[id] = (byte) cell;
+    }
+
+    private static byte item(byte value, int direction){
+        return ITEMS[(value & 0xFF) * 4 + direction];
+    }
+
+    private boolean isBlankOrFace(int cell){
+        byte value = cells[cell];
+        return value == Board.BLANK || value == Board.GREEN_FACE || value == Board.YELLOW_FACE;
+    }
+
+    private int creationGrid(){
+        return green ? GREEN_CREATION_GRID : YELLOW_CREATION_GRID;
+    }
+
+    /**
+     * @return
+     *      Ids of the PlayerPiece of the current player.
+     */
+    private long own(){
+        return green ? GREEN_PIECES : YELLOW_PIECES;
+    }
+
+    /**
+     * @return
+     *      Ids of the PlayerPiece among the pieces that are on the createBoard.
+     */
+    private long onBoard(long pieces){
+        long result = 0;
+        for(long rest = pieces; rest != 0; rest &= rest - 1){
+            int id = Long.numberOfTrailingZeros(rest);
+            if(cellOf[id] != NO_CELL){
+                result |= 1L << id;
+            }
+        }
+        return result;
+    }
+}
@@ -1,19 +1,19 @@
 package model;
 
-import gui.drawers.SquareButton;
 import model.command.Command;
+import model.command.CommandListener;
 import model.command.CommandManager;
 import model.piece.EmptyPiece;
 import model.piece.FacePiece;
 import model.piece.Piece;
+import model.piece.PieceSet;
 import model.piece.PlayerPiece;
 import model.player.GreenPlayer;
-import model.player.Hand;
 import model.player.Player;
 import model.player.Player.Direction;
 import model.player.YellowPlayer;
 import model.reaction.Reaction;
-import model.reaction.ReactionResult;
+import model.reaction.ReactionBuffer;
 
 import java.util.*;
 
@@ -60,9 +60,14 @@ public class Game extends Observable {
     private Cemetery cemetery;
 
     /**
-     * PlayerPiece that are to be moved / rotated by the current player in future.
+     * Ids of the PlayerPiece that are to be moved / rotated by the current player in future.
      */
-    private Set<PlayerPiece> future;
+    private long future;
+
+    /**
+     * Read-only view of the PlayerPiece in future that are not in the cemetery.
+     */
+    private final Set<PlayerPiece> futureView = new PieceSet(() -> future & ~cemetery.getMask(), this::pieceInBoard);
 
     /**
      * Flag to check if game is over.
@@ -84,6 +89,11 @@ public class Game extends Observable {
      */
     private CommandManager commandManager;
 
+    /**
+     * Listener given to every CommandManager of the game, or null.
+     */
+    private CommandListener commandListener;
+
     /**
      * This is mainly for the view, to let the user know about the status of the game.
      */
@@ -103,10 +113,65 @@ public class Game extends Observable {
 
     /**
      * PlayerPiece that just died in the previous move by the player. We use this to animate
-     * the demise of the piece in the GUI.
+     * the demise of the piece in the GUI. Its changes are only recorded in the journal between a checkpoint and its
+     * restore, so that pieces killed by the actions a bot tries are not reported once they are reverted.
      */
     private List<PlayerPiece> newlyDead;
 
+    /**
+     * Number of checkpoints that have not been restored yet.
+     */
+    private int checkpoints;
+
+    /**
+     * Zobrist hash of the player whose turn it is, the phase and the future set. The board and the cemetery keep
+     * the hash of their own contents.
+     */
+    private long stateHash;
+
+    /**
+     * Changes made to the game during the current player's turn, so that commands can be undone by reverting only
+     * what they changed.
+     */
+    private Journal journal;
+
+    /**
+     * Buffer of the cells holding a PlayerPiece, filled when generating actions.
+     */
+    private final int[] pieceCells = new int[PlayerPiece.PIECES];
+
+    /**
+     * Buffer the reactions are resolved into.
+     */
+    private final ReactionBuffer reaction = new ReactionBuffer();
+
+    /**
+     * Number of reactions pushing pieces that are currently being executed inside one another.
+     */
+    private int pushDepth;
+
+    /**
+     * Set once the pushes of the command being executed nest deeper than MAX_PUSH_DEPTH, which means that its
+     * reactions never settle. No more reactions are executed until the command has been reverted.
+     */
+    private boolean unsettled;
+
+    /**
+     * Number of pieces pushed by reactions since the game was created, including the pushes reverted since.
+     */
+    private long pushes;
+
+    /**
+     * Number of pushes that may nest inside one another before the reactions of an action are taken as never
+     * settling. CompactGame uses the same limit.
+     */
+    static final int MAX_PUSH_DEPTH = Board.ROWS * Board.COLS;
+
+    /**
+     * EmptyPiece is immutable, so one instance is set on every square that is emptied.
+     */
+    private static final EmptyPiece EMPTY_PIECE = new EmptyPiece();
+
     /**
      * Construct a new game from a given starting createBoard.
      *
@@ -117,6 +182,7 @@ public class Game extends Observable {
     }
 
     public void reset(Board b){
+        this.journal = new Journal();
         this.moves = 0;
         setupPlayers();
         this.startTime = System.currentTimeMillis();
@@ -124,8 +190,10 @@ public class Game extends Observable {
         this.board = b;
         this.gameOver = false;
         this.cemetery = new Cemetery();
-        this.commandManager = new CommandManager();
+        this.newlyDead = new ArrayList<>();
+        this.commandManager = new CommandManager(commandListener);
         this.status = getCurrentPlayer().getName() + "'s turn";
+        this.stateHash = Zobrist.side(currentPlayer.isGreen()) ^ Zobrist.phase(gamePhase) ^ futureHash(future);
     }
 
     /**
@@ -136,26 +204,102 @@ public class Game extends Observable {
         moves++;
         warning = 0;
         setCurrentPlayer(players.get(moves % players.size()));
-        future = new HashSet<>();
-        commandManager = new CommandManager();
+        future = 0;
+        commandManager = new CommandManager(commandListener);
         setStatus(currentPlayer.getName() + "'s turn");
     }
 
     /**
      * When passing the game to the next player, we need to clear the future pieces as well as clear all the commands
      * executed by the previous player (by creating a new CommandManager) so that the next player cannot undo the
-     * previous player's move.
+     * previous player's move. The changes recorded in the journal are forgotten for the same reason.
      */
     public void nextPlayer(){
+        journal.record(Journal.TURN, warning, commandManager, currentPlayer);
         moves++;
         warning = 0;
         setCurrentPlayer(players.get(moves % players.size()));
-        future = new HashSet<>();
         resetFuture();
-        commandManager = new CommandManager();
+        commandManager = new CommandManager(commandListener);
+        if(checkpoints == 0){
+            journal.clear();
+        }
         setStatus(currentPlayer.getName() + "'s turn");
     }
 
+    /**
+     * Mark the current state of the game so that it can be restored, even after the game has been passed to the
+     * next player. Used by bots to try actions ahead in place. Observers are not notified of any change until every
+     * checkpoint has been restored.
+     * @return
+     *      Checkpoint to give to restore.
+     */
+    public int checkpoint(){
+        checkpoints++;
+        return journal.size();
+    }
+
+    /**
+     * Revert every change made since the checkpoint.
+     * @param checkpoint
+     *          Checkpoint returned by checkpoint.
+     */
+    public void restore(int checkpoint){
+        rollback(checkpoint);
+        checkpoints--;
+    }
+
+    /**
+     * Take over a state read from a GameSnapshot. The hands and the undo counters of the players must already be
+     * set. Commands played before the snapshot was taken cannot be undone.
+     * @param board
+     *          Board holding the pieces of the players of this game.
+     * @param cemetery
+     *          Cemetery holding the pieces of the players of this game.
+     * @param future
+     *          Ids of the PlayerPiece that are to be moved / rotated in future.
+     * @param phase
+     *          Phase of the game.
+     * @param moves
+     *          Number of turns played, which decides whose turn it is.
+     * @param winner
+     *          Winner of the game, or null if the game is not over.
+     */
+    void load(Board board, Cemetery cemetery, long future, Phase phase, int moves, Player winner){
+        this.journal = new Journal();
+        this.commandManager = new CommandManager(commandListener);
+        this.newlyDead = new ArrayList<>();
+        this.board = board;
+        this.cemetery = cemetery;
+        this.future = future;
+        this.gamePhase = phase;
+        this.moves = moves;
+        this.warning = 0;
+        this.currentPlayer = players.get(moves % players.size());
+        this.gameOver = winner != null;
+        this.winner = winner;
+
+        int count = board.getPieceCells(pieceCells);
+        for(int i = 0; i < count; i++){
+            PlayerPiece piece = board.getPlayerPiece(pieceCells[i]);
+            (piece.greenPlayer() ? getGreenPlayer() : getYellowPlayer()).addToPiecesInBoard(piece);
+        }
+
+        this.stateHash = Zobrist.side(currentPlayer.isGreen()) ^ Zobrist.phase(gamePhase) ^ futureHash(future);
+        setStatus(gameOver ? "Game over" : currentPlayer.getName() + "'s turn");
+    }
+
+    /**
+     * Set the listener told about every command the players execute or undo from now on, such as a MoveRecorder.
+     * Actions applied by bots are not reported.
+     * @param listener
+     *          Listener to set, or null.
+     */
+    public void setCommandListener(CommandListener listener){
+        this.commandListener = listener;
+        commandManager.setListener(listener);
+    }
+
     /**
      * Get the internal createBoard representation of this game.
      * @return
@@ -175,7 +319,7 @@ public class Game extends Observable {
      */
     public void createPiece(String letter, int rotation){
         clearNewlyDead();
-        commandManager.executeCommand(new CreatePieceCommand(this, letter, rotation));
+        commandManager.executeCommand(new CreatePieceCommand(letter, rotation));
 
         // Notify and update the observer.
         setStatus("Created");
@@ -191,7 +335,7 @@ public class Game extends Observable {
      */
     public void rotatePiece(String letter, int rotation){
         clearNewlyDead();
-        commandManager.executeCommand(new RotatePieceCommand(this, letter, rotation));
+        commandManager.executeCommand(new RotatePieceCommand(letter, rotation));
     }
 
     /**
@@ -206,7 +350,7 @@ public class Game extends Observable {
      */
     public void movePiece(String letter, Direction direction, boolean dominant){
         clearNewlyDead();
-        commandManager.executeCommand(new MovePieceCommand(this, letter, direction, dominant));
+        commandManager.executeCommand(new MovePieceCommand(letter, direction, dominant));
 
         // Reset the selected square.
         clearSelectedSquareInBoard();
@@ -236,17 +380,179 @@ public class Game extends Observable {
         commandManager.undo();
     }
 
+    /**
+     * Generate every action the current player can take in the current phase, encoded with Action, into the start
+     * of the buffer. Nothing is allocated, so this can be called at every node of a search.
+     * An action whose reactions never settle is only found out by playing it, so it is generated like any other and
+     * play and apply reject it.
+     * @param actions
+     *          Buffer of at least Action.MAX_ACTIONS ints to fill.
+     * @return
+     *          Number of actions written to the buffer.
+     */
+    public int generateActions(int[] actions){
+        int count = 0;
+        if(gameOver){
+            return count;
+        }
+
+        switch(gamePhase){
+            case DISPLAY:
+            case CREATE:
+                // Any piece in hand can be created in all four rotations if the creation grid is free.
+                if(currentPlayer.validCreation()){
+                    for(int i = 0; i < currentPlayer.hand.size(); i++){
+                        int id = currentPlayer.hand.getPiece(i).getId();
+                        for(int turns = 0; turns < 4; turns++){
+                            actions[count++] = Action.create(id, turns);
+                        }
+                    }
+                }
+                break;
+            case ACTION:
+                // Any piece still in future can be moved in four directions or rotated three ways.
+                int pieces = board.getPieceCells(pieceCells);
+                for(int i = 0; i < pieces; i++){
+                    PlayerPiece piece = board.getPlayerPiece(pieceCells[i]);
+                    if((future & 1L << piece.getId()) == 0 || !currentPlayer.validPiece(piece)){
+                        continue;
+                    }
+                    for(Direction direction : PlayerPiece.DIRECTIONS){
+                        actions[count++] = Action.move(piece.getId(), direction);
+                    }
+                    for(int turns = 1; turns < 4; turns++){
+                        actions[count++] = Action.rotate(piece.getId(), turns);
+                    }
+                }
+                break;
+            case FINAL:
+                break;
+        }
+
+        // Passing in CREATE phase does nothing, so it is not an action.
+        if(gamePhase != CREATE){
+            actions[count++] = Action.pass();
+        }
+        return count;
+    }
+
+    /**
+     * Play an action produced by generateActions, through the same commands as the user input, so that it can be
+     * undone and is told to the command listener.
+     * @param action
+     *          Action to play.
+     * @return
+     *          false if the reactions of the action never settle, in which case the game is left as it was.
+     */
+    public boolean play(int action){
+        clearNewlyDead();
+        // A pass hands the turn over with a new CommandManager, so the command goes to the one it was played with.
+        CommandManager manager = commandManager;
+        GameCommand command = command(action);
+        if(!command.tryExecute()){
+            return false;
+        }
+        manager.addExecuted(command);
+
+        // Notify and update the observer, as for the user input.
+        switch(Action.type(action)){
+            case Action.CREATE:
+                setStatus("Created");
+                break;
+            case Action.MOVE:
+                clearSelectedSquareInBoard();
+                setStatus("Moved");
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Apply an action produced by generateActions without keeping it to be undone by the user. Used by bots
+     * between checkpoint and restore.
+     * @param action
+     *          Action to apply.
+     * @return
+     *          false if the reactions of the action never settle, in which case the game is left as it was.
+     */
+    public boolean apply(int action){
+        clearNewlyDead();
+        return command(action).tryExecute();
+    }
+
+    /**
+     * @param action
+     *          Action produced by generateActions.
+     * @return
+     *          Command executing the action.
+     */
+    private GameCommand command(int action){
+        switch(Action.type(action)){
+            case Action.CREATE:
+                return new CreatePieceCommand(Action.letter(action), Action.rotation(action));
+            case Action.MOVE:
+                return new MovePieceCommand(Action.letter(action), Action.direction(action), true);
+            case Action.ROTATE:
+                return new RotatePieceCommand(Action.letter(action), Action.rotation(action));
+            default:
+                return new PassCommand();
+        }
+    }
+
     /**
      * Remove the instance of Piece in future set as the Piece have already been moved / rotated.
      * @param piece
      *          PlayerPiece to be removed.
      */
     public void removeFromFuture(PlayerPiece piece){
-        future.remove(piece);
-        future.remove(null);
+        if(piece != null && (future & 1L << piece.getId()) != 0){
+            future &= ~(1L << piece.getId());
+            stateHash ^= Zobrist.future(piece.getId());
+            journal.record(Journal.FUTURE_REMOVE, 0, null, piece);
+        }
+    }
+
+    /**
+     * Add the PlayerPiece to the future set as it is yet to be moved / rotated.
+     * @param piece
+     *          PlayerPiece to be added.
+     */
+    private void addToFuture(PlayerPiece piece){
+        if((future & 1L << piece.getId()) == 0){
+            future |= 1L << piece.getId();
+            stateHash ^= Zobrist.future(piece.getId());
+            journal.record(Journal.FUTURE_ADD, 0, null, piece);
+        }
+    }
+
+    /**
+     * Replace the whole future set.
+     * @param future
+     *          Ids of the PlayerPiece that are to be moved / rotated in future.
+     */
+    private void setFuture(long future){
+        stateHash ^= futureHash(this.future) ^ futureHash(future);
+        journal.record(Journal.FUTURE_SET, this.future, null, null);
+        this.future = future;
+    }
+
+    /**
+     * Return the Zobrist hash of a future set.
+     * @param future
+     *          Ids of the PlayerPiece to hash.
+     * @return
+     *          XOR of the future keys of every PlayerPiece in the set.
+     */
+    private static long futureHash(long future){
+        long hash = 0;
+        for(long ids = future; ids != 0; ids &= ids - 1){
+            hash ^= Zobrist.future(Long.numberOfTrailingZeros(ids));
+        }
+        return hash;
     }
 
     public void setCurrentPlayer(Player player){
+        stateHash ^= Zobrist.side(currentPlayer != null && currentPlayer.isGreen()) ^ Zobrist.side(player.isGreen());
         currentPlayer = player;
     }
 
@@ -274,9 +580,22 @@ public class Game extends Observable {
      *          phase we want to the set the game to.
      */
     public void setGamePhase(Phase phase){
+        stateHash ^= Zobrist.phase(gamePhase) ^ Zobrist.phase(phase);
+        journal.record(Journal.PHASE, gamePhase.ordinal(), null, null);
         this.gamePhase = phase;
     }
 
+    /**
+     * Return the 64-bit Zobrist hash of the game. It covers the createBoard, the orientation of every PlayerPiece,
+     * the player whose turn it is, the phase, the future set and the cemetery. The hash is kept up to date as the
+     * game changes, so this is constant time.
+     * @return
+     *      Zobrist hash of the current state of the game.
+     */
+    public long getZobristHash(){
+        return board.getHash() ^ cemetery.getHash() ^ stateHash;
+    }
+
     /**
      * Retrieve the cemetery to know what PlayerPieces have been pushed out of the game.
      * @return
@@ -285,19 +604,58 @@ public class Game extends Observable {
         return cemetery.clone();
     }
 
+    /**
+     * Count the pieces of a player in the cemetery, without copying the cemetery like getCemetery.
+     * @param player
+     *          Player owning the pieces.
+     * @return
+     *          Number of the player's PlayerPiece in the cemetery.
+     */
+    public int getDeadPiecesCount(Player player){
+        return cemetery.getDeadPiecesCount(player);
+    }
+
+    /**
+     * Lay out the pieces of a player in the cemetery, without copying the cemetery like getCemetery. The layout is
+     * kept until the cemetery changes.
+     * @param player
+     *          Player owning the pieces.
+     * @return
+     *          Read-only 4 * 6 grid of the player's PlayerPiece in the cemetery.
+     */
+    public Piece[][] getPlayerPiecesInCemetery(Player player){
+        return cemetery.getPlayerPiecesInCemetery(player);
+    }
+
 
     /**
      * getFuture returns the set of PlayerPiece in the createBoard that have not been moved / rotated by the current player.
+     * The set is a live view rather than a copy: every call returns the same set, and it changes with the game, so
+     * copy it to keep the PlayerPiece of a given moment. An iterator goes over the PlayerPiece in the set when it
+     * was made, so the game may change while iterating.
      * @return
-     *      Set of PlayerPiece to be moved / rotated in future.
+     *      Read-only view of the PlayerPiece to be moved / rotated in future, which follows the game as it changes.
      */
     public Set<PlayerPiece> getFuture(){
-        Set<PlayerPiece> copy_set = new HashSet<>();
-        for(PlayerPiece piece : future){
-            if(!cemetery.contains(piece))
-                copy_set.add(piece);
-        }
-        return copy_set;
+        return futureView;
+    }
+
+    /**
+     * @return
+     *      Bitmask of the ids of the PlayerPiece to be moved / rotated in future that are not in the cemetery.
+     */
+    long getFutureMask(){
+        return future & ~cemetery.getMask();
+    }
+
+    /**
+     * @param id
+     *          Id of a PlayerPiece that has been on the createBoard.
+     * @return
+     *          The PlayerPiece, looked up from its owner.
+     */
+    private PlayerPiece pieceInBoard(int id){
+        return (id < PlayerPiece.PIECES / 2 ? getGreenPlayer() : getYellowPlayer()).getPieceInBoard(id);
     }
 
     /**
@@ -305,7 +663,7 @@ public class Game extends Observable {
      * PlayerPiece that are on the createBoard as the PlayerPiece can be moved / rotated again in future.
      */
     public void resetFuture() {
-        future = currentPlayer.getAllPiecesInBoard();
+        setFuture(currentPlayer.getPiecesInBoardMask());
     }
 
     /**
@@ -317,13 +675,8 @@ public class Game extends Observable {
      *          true if the Piece have been moved.
      */
     public boolean movedPiece(Position position){
-        Piece piece = board.getSquare(position);
-
-        if(piece instanceof PlayerPiece){
-            return !future.contains(piece);
-        }
-
-        return false;
+        PlayerPiece piece = board.getPlayerPiece(position.index());
+        return piece != null && (future & 1L << piece.getId()) == 0;
     }
 
     /**
@@ -345,8 +698,11 @@ public class Game extends Observable {
 
     public void setStatus(String message){
         this.status = message;
-        setChanged();
-        notifyObservers();
+        // A game without any observer, such as one played by bots, skips the notification altogether.
+        if(checkpoints == 0 && countObservers() > 0){
+            setChanged();
+            notifyObservers();
+        }
     }
 
     public void clearSelectedSquareInBoard(){
@@ -366,11 +722,33 @@ public class Game extends Observable {
         return newlyDead != null && newlyDead.size() > 0;
     }
 
+    /**
+     * @return
+     *      Number of PlayerPiece that died in the last command.
+     */
+    public int getNewlyDeadCount(){
+        return newlyDead.size();
+    }
+
+    /**
+     * @return
+     *      Number of pieces pushed by reactions since the game was created, including the pushes reverted since.
+     *      Used for statistics.
+     */
+    public long getPushes(){
+        return pushes;
+    }
+
     /**
      * Clear the newlyDead record.
      */
     public void clearNewlyDead(){
-        newlyDead = new ArrayList<>();
+        if(checkpoints > 0){
+            for(int i = newlyDead.size() - 1; i >= 0; i--){
+                journal.record(Journal.NEWLY_DEAD_REMOVE, 0, null, newlyDead.get(i));
+            }
+        }
+        newlyDead.clear();
     }
 
 
@@ -387,19 +765,24 @@ public class Game extends Observable {
     }
 
     /**
-     * The game is finally won by the currentPlayer. Set the gameOver flag to true and update the winner.
+     * The game is finally won by the owner of the winning piece, which may have been pushed next to the FacePiece
+     * by the other player. Set the gameOver flag to true and update the winner.
+     * @param winningPiece
+     *          PlayerPiece whose sword faces the FacePiece of the other player.
      */
-    public void playerHasWon(){
+    public void playerHasWon(PlayerPiece winningPiece){
+        journal.record(Journal.END_TIME, endTime, null, null);
         endTime = System.currentTimeMillis();
-        gamePhase = DISPLAY;
+        setGamePhase(DISPLAY);
+        journal.record(Journal.GAME_OVER, gameOver ? 1 : 0, winner, null);
         gameOver = true;
-        winner = currentPlayer;
+        winner = ownerOf(winningPiece);
         setStatus("Game over");
     }
 
     public void playerHasSurrender(){
         endTime = System.currentTimeMillis();
-        gamePhase = DISPLAY;
+        setGamePhase(DISPLAY);
         gameOver = true;
         winner = currentPlayer instanceof GreenPlayer ? getYellowPlayer() : getGreenPlayer();
         setStatus("Game over");
@@ -418,6 +801,14 @@ public class Game extends Observable {
         return s;
     }
 
+    /**
+     * @return
+     *      Number of turns played so far.
+     */
+    public int getMoves(){
+        return moves;
+    }
+
     public String moves(){
         return moves + " moves";
     }
@@ -463,18 +854,18 @@ public class Game extends Observable {
     }
 
     /**
-     * Return a SquareButton of the PlayerPiece that used to be in the position of the
-     * board.
+     * Return the PlayerPiece that used to be in the position of the board, so that the view can
+     * animate its demise.
      * @param position
      *             Position of the board that used to have a PlayerPiece.
      * @return
-     *              Corresponding SquareButton of the newly dead PlayerPiece.
+     *              The newly dead PlayerPiece.
      */
-    public SquareButton getNewlyDead(Position position){
+    public PlayerPiece getNewlyDead(Position position){
         for(PlayerPiece p: newlyDead){
             if(p.getPosition().getX() == position.getX() &&
                     p.getPosition().getY() == position.getY()){
-                return p.createButton(position, SquareButton.Panel.BOARD_DISPLAY);
+                return p;
             }
         }
         return null;
@@ -482,21 +873,68 @@ public class Game extends Observable {
 
 
     /**
-     * CreatePieceCommand class executes the create as well as undo the created.
-     * It stores the information of the state of the game before the PlayerPiece is created.
-     * It also stores the user inputs in order to execute the command.
+     * GameCommand is the base of the commands of the game. It keeps the mark of the journal before the command is
+     * executed, so that undo only reverts the changes made by the command.
+     * A command that is not valid, or whose reactions never settle, is reverted as soon as it is found out.
      */
-    private class CreatePieceCommand implements Command{
-        private Game game;
+    private abstract class GameCommand implements Command, MoveRecorder.Recordable {
+
+        /**
+         * Size of the journal before execution.
+         */
+        protected int mark;
+
+        /**
+         * Make the changes of the command.
+         * @throws IllegalArgumentException
+         *          if the command is not valid in the current state of the game.
+         */
+        protected abstract void run();
+
+        /**
+         * Execute the command, reverting it if its reactions never settle.
+         * @return
+         *          false if the reactions of the command never settle.
+         * @throws IllegalArgumentException
+         *          if the command is not valid in the current state of the game.
+         */
+        boolean tryExecute(){
+            mark = journal.size();
+            try {
+                run();
+            } catch (RuntimeException e){
+                revert();
+                throw e;
+            }
+            if(unsettled){
+                revert();
+                return false;
+            }
+            return true;
+        }
 
         /**
-         * Previous states before create execution.
+         * Execute the command for the user, to whom reactions that never settle are as invalid as any other input.
          */
-        private Hand prev_player_hand;
-        private Set<PlayerPiece> prev_player_pieces_in_board;
-        private Set<PlayerPiece> prev_future;
-        private Board prev_board;
-        private Cemetery prev_cemetery;
+        @Override
+        public void execute() {
+            if(!tryExecute()){
+                throw new IllegalArgumentException("The reactions of this action never settle");
+            }
+        }
+
+        private void revert(){
+            unsettled = false;
+            rollback(mark);
+            clearNewlyDead();
+        }
+    }
+
+    /**
+     * CreatePieceCommand class executes the create as well as undo the created.
+     * It also stores the user inputs in order to execute the command.
+     */
+    private class CreatePieceCommand extends GameCommand {
 
         /**
          * Create command input by user.
@@ -504,25 +942,24 @@ public class Game extends Observable {
         private String letter;
         private int rotation;
 
-        public CreatePieceCommand(Game game, String letter, int rotation){
-            this.game = game;
-            this.prev_player_hand = currentPlayer.hand.clone();
-            this.prev_player_pieces_in_board = currentPlayer.getAllPiecesInBoard();
-            resetFuture();
-            this.prev_future = getFuture();
-            this.prev_board = game.getBoard().clone();
-            this.prev_cemetery = cemetery.clone();
+        public CreatePieceCommand(String letter, int rotation){
             this.letter = letter;
             this.rotation = rotation;
         }
 
+        @Override
+        public int encode(){
+            return MoveRecorder.encode(MoveRecorder.CREATE, letter, rotation / 90, false);
+        }
+
         /**
          * For this to be acceptable, the piece must belong to the currentPlayer and its creation grid
          * must be empty.
          * The PlayerPiece is created and then its neighbors are checked for reactions.
          */
         @Override
-        public void execute() {
+        protected void run() {
+            resetFuture();
             PlayerPiece pieceToCreate = currentPlayer.hand.getPiece(letter);
 
             if(!currentPlayer.validCreation()){
@@ -534,67 +971,48 @@ public class Game extends Observable {
             }
 
             // Update the piece's rotation and position.
-            pieceToCreate.rotate(rotation);
+            rotate(pieceToCreate, rotation);
             pieceToCreate.setPosition(currentPlayer.getCreationGrid());
 
             // Update the player's state.
-            currentPlayer.hand.remove(pieceToCreate);
-            currentPlayer.addToPiecesInBoard(pieceToCreate);
+            removeFromHand(currentPlayer, pieceToCreate);
+            addToPiecesInBoard(currentPlayer, pieceToCreate);
 
             // Update the game state.
-            future.add(pieceToCreate);
+            addToFuture(pieceToCreate);
 
             // Update the createBoard.
             Position newPosition = currentPlayer.getCreationGrid();
-            board.setSquare(newPosition, pieceToCreate);
-
-            // Check for reactions at all directions and store it in the list.
-            List<ReactionResult> reactions = checkForReactions(pieceToCreate);
+            setSquare(newPosition, pieceToCreate);
 
-            // Finally, lets execute the reactions.
-            executeReaction(reactions);
+            // Check for reactions at all directions and execute them.
+            checkForReactions(pieceToCreate);
 
             // Change game phase if all pieces have been moved.
-            if(future.isEmpty()){
-                gamePhase = FINAL;
+            if(future == 0){
+                setGamePhase(FINAL);
             } else {
-                gamePhase = ACTION;
+                setGamePhase(ACTION);
             }
 
         }
 
         /**
-         * Undo the create command by restoring the game to its previous state.
+         * Undo the create command by reverting every change made since it was executed.
          */
         @Override
         public void undo() {
-            game.currentPlayer.hand = prev_player_hand;
-            game.currentPlayer.piecesInBoard = prev_player_pieces_in_board;
-            game.future = prev_future;
-            game.board = prev_board;
-            game.cemetery = prev_cemetery;
-            gamePhase = DISPLAY;
+            rollback(mark);
+            setGamePhase(DISPLAY);
             setStatus("Undo create");
         }
     }
 
     /**
-     * MovePieceCommand class executes the move as well as undo the move.
-     * It stores the information of the state of the game before the PlayerPiece is moved.
+     * MovePieceCommand class executes the move as well as undo the move, including the moves of the pushed neighbors.
      * It also stores the user inputs in order to execute the command.
      */
-    private class MovePieceCommand implements Command {
-
-        private Game game;
-
-        /**
-         * Previous states before move execution.
-         */
-        private Cemetery prev_cemetery;
-        private Set<PlayerPiece> prev_player_pieces_in_board;
-        private Set<PlayerPiece> prev_future;
-        private Board prev_board;
-        private Phase prev_phase;
+    private class MovePieceCommand extends GameCommand {
 
         /**
          * Create command input by user.
@@ -603,20 +1021,17 @@ public class Game extends Observable {
         private Direction direction;
         private boolean dominant;
 
-        public MovePieceCommand(Game game, String letter, Direction direction, boolean dominant){
-            this.game = game;
-
-            this.prev_cemetery = game.getCemetery();
-            this.prev_player_pieces_in_board = game.currentPlayer.getAllPiecesInBoard();
-            this.prev_future = game.getFuture();
-            this.prev_board = game.getBoard().clone();
-            this.prev_phase = game.getGamePhase();
-
+        public MovePieceCommand(String letter, Direction direction, boolean dominant){
             this.letter = letter;
             this.direction = direction;
             this.dominant = dominant;
         }
 
+        @Override
+        public int encode(){
+            return MoveRecorder.encode(MoveRecorder.MOVE, letter, direction.ordinal(), dominant);
+        }
+
         /**
          * For this to be acceptable, the piece must belong to the currentPlayer, be on the createBoard and must not have
          * been moved by the player in the same round.
@@ -625,101 +1040,116 @@ public class Game extends Observable {
          * Then, check its new neighbors for reactions before executing them.
          */
         @Override
-        public void execute() {
+        protected void run() {
+            // Only the dominant piece has to belong to the player, the neighbors it pushes may not.
+            PlayerPiece pieceToMove = board.findPiece(letter);
+            if(pieceToMove != null && !currentPlayer.validPiece(pieceToMove)){
+                throw new IllegalArgumentException("This piece does not belong to you");
+            }
+            move();
+        }
+
+        private void move() {
             PlayerPiece pieceToMove = board.findPiece(letter);
 
             if(pieceToMove == null){
                 throw new IllegalArgumentException("No such piece is found on the createBoard");
-            } else if(!currentPlayer.validPiece(pieceToMove)){
-                throw new IllegalArgumentException("This piece does not belong to you");
-            } else if(!future.contains(pieceToMove)  && dominant){
+            } else if((future & 1L << pieceToMove.getId()) == 0 && dominant){
                 throw new IllegalArgumentException("This piece has already been moved/rotated");
             } else if(cemetery.contains(pieceToMove)){
                 throw new IllegalArgumentException("This piece is already in the cemetery");
             }
 
-            Position old_position = pieceToMove.getPosition();
+            // Update the game state of future piece only if it is a dominant piece.
+            // Neighbor pieces are still to be moved / rotated in future.
+            if(dominant) {
+                removeFromFuture(pieceToMove);
+            }
+
+            // Move the piece along with the line of neighbors in front of it, then check for reactions once every
+            // piece of the line is in its new position.
+            int moved = shift(pieceToMove);
+            checkForReactions(pieceToMove, moved);
+
+            // Change game phase if all pieces have been moved.
+            if(future == 0){
+                setGamePhase(FINAL);
+            }
+        }
+
+        /**
+         * Move the PlayerPiece one square in the direction of the move, after moving the neighbor in front of it
+         * the same way recursively.
+         * @param piece
+         *          PlayerPiece to move.
+         * @return
+         *          Number of PlayerPiece of the line that are still on the createBoard after the move.
+         */
+        private int shift(PlayerPiece piece) {
+            Position old_position = piece.getPosition();
             Position new_position = old_position.moveBy(direction);
 
             // If the piece goes out of the createBoard, it should be added to the cemetery.
             // The game state is updated accordingly before finishing its execution.
             if(board.outOfBoard(new_position)) {
-                cemetery.add(pieceToMove);
-                newlyDead.add(pieceToMove);
-                currentPlayer.removeFromPiecesInBoard(pieceToMove);
-                removeFromFuture(pieceToMove);
+                addToCemetery(piece);
+                addToNewlyDead(piece);
+                removeFromPiecesInBoard(ownerOf(piece), piece);
+                removeFromFuture(piece);
 
                 // Update the createBoard.
-                board.setSquare(old_position, new EmptyPiece());
-                return;
-            }
-
-            // Update the piece.
-            pieceToMove.setPosition(new_position);
-
-            // Update the game state of future piece only if it is a dominant piece.
-            // Neighbor pieces are still to be moved / rotated in future.
-            if(dominant) {
-                removeFromFuture(pieceToMove);
+                setSquare(old_position, EMPTY_PIECE);
+                return 0;
             }
 
             // Check for neighbor.
             // If there is a neighbor, we will move the neighbor piece to the same direction recursively.
+            int moved = 1;
             Piece neighbor = board.getSquare(new_position);
             if(neighbor instanceof PlayerPiece){
-                PlayerPiece p = (PlayerPiece) neighbor;
-                MovePieceCommand movePieceCommand = new MovePieceCommand(game, p.getLetter(), direction, false);
-                movePieceCommand.execute();
+                moved += shift((PlayerPiece) neighbor);
             }
 
-            // Update the createBoard.
-            board.setSquare(new_position, pieceToMove);
-            board.setSquare(old_position, new EmptyPiece());
-
-            // Check for reactions at all directions and store it in the list.
-            List<ReactionResult> reactions = checkForReactions(pieceToMove);
-
-            // Finally, lets execute the reactions.
-            executeReaction(reactions);
+            // Update the piece and the createBoard.
+            piece.setPosition(new_position);
+            setSquare(new_position, piece);
+            setSquare(old_position, EMPTY_PIECE);
+            return moved;
+        }
 
-            // Change game phase if all pieces have been moved.
-            if(future.isEmpty()){
-                gamePhase = FINAL;
+        /**
+         * Check for reactions of the line of moved PlayerPiece, from the front of the line back to the piece.
+         * @param piece
+         *          PlayerPiece at the back of the line.
+         * @param moved
+         *          Number of PlayerPiece in the line.
+         */
+        private void checkForReactions(PlayerPiece piece, int moved) {
+            if(moved == 0){
+                return;
+            }
+            if(moved > 1){
+                Piece next = board.getSquare(piece.getPosition().moveBy(direction));
+                checkForReactions((PlayerPiece) next, moved - 1);
             }
+            Game.this.checkForReactions(piece);
         }
 
-
         /**
-         * Undo the move command by restoring the game to its previous state.
+         * Undo the move command by reverting every change made since it was executed.
          */
         @Override
         public void undo() {
-            game.cemetery = prev_cemetery;
-            currentPlayer.piecesInBoard = prev_player_pieces_in_board;
-            game.future = prev_future;
-            game.board = prev_board;
-            gamePhase = prev_phase;
+            rollback(mark);
             setStatus("Undo move");
         }
     }
 
     /**
      * RotatePieceCommand class executes the rotate as well as undo the move.
-     * It stores the information of the state of the game before the PlayerPiece is rotated.
      * It also stores the user inputs in order to execute the command.
      */
-    private class RotatePieceCommand implements Command{
-
-        private Game game;
-
-        /**
-         * Previous states before rotate execution.
-         */
-        private Cemetery prev_cemetery;
-        private Set<PlayerPiece> prev_player_pieces_in_board;
-        private Set<PlayerPiece> prev_future;
-        private Board prev_board;
-        private Phase prev_phase;
+    private class RotatePieceCommand extends GameCommand {
 
         /**
          * Rotate command input by user.
@@ -727,25 +1157,23 @@ public class Game extends Observable {
         String letter;
         int rotation;
 
-        public RotatePieceCommand(Game game, String letter, int rotation){
-            this.game = game;
-            this.prev_cemetery = game.getCemetery();
-            this.prev_player_pieces_in_board = currentPlayer.getAllPiecesInBoard();
-            this.prev_future = game.getFuture();
-            this.prev_board = game.getBoard().clone();
-            this.prev_phase = gamePhase;
-
+        public RotatePieceCommand(String letter, int rotation){
             this.letter = letter;
             this.rotation = rotation;
         }
 
+        @Override
+        public int encode(){
+            return MoveRecorder.encode(MoveRecorder.ROTATE, letter, rotation / 90, false);
+        }
+
         /**
          * For this to be acceptable, the piece must belong to the currentPlayer, be on the createBoard and must not have
          * been moved / rotated by the player in the same round.
          * The PlayerPiece is rotated and then its neighbors are checked for reactions.
          */
         @Override
-        public void execute() {
+        protected void run() {
             PlayerPiece pieceToRotate = board.findPiece(letter);
 
             if(pieceToRotate == null){
@@ -754,50 +1182,46 @@ public class Game extends Observable {
                 throw new IllegalArgumentException("This piece does not belong to you");
             } else if(rotation!= 0 && rotation != 90 && rotation!= 180 && rotation != 270){
                 throw new IllegalArgumentException("Rotation needs to be 0, 90, 180, 270 only");
-            } else if(!future.contains(pieceToRotate)){
+            } else if((future & 1L << pieceToRotate.getId()) == 0){
                 throw new IllegalArgumentException("This piece has already been acted");
             }
 
             // Update the piece's rotation.
-            pieceToRotate.rotate(rotation);
+            Game.this.rotate(pieceToRotate, rotation);
 
             // Update the game state.
-            future.remove(pieceToRotate);
-            future.remove(null);
+            removeFromFuture(pieceToRotate);
 
             // Update the createBoard.
-            board.setSquare(pieceToRotate.getPosition(), pieceToRotate);
+            setSquare(pieceToRotate.getPosition(), pieceToRotate);
 
-            // Check for reactions at all directions and store it in the list.
-            List<ReactionResult> reactions = checkForReactions(pieceToRotate);
-
-            // Finally, lets execute the reactions.
-            executeReaction(reactions);
+            // Check for reactions at all directions and execute them.
+            checkForReactions(pieceToRotate);
 
             // Change game phase if all pieces have been moved.
-            if(future.isEmpty()){
-                gamePhase = FINAL;
+            if(future == 0){
+                setGamePhase(FINAL);
             }
         }
 
         /**
-         * Undo the rotated command by restoring the game to its previous state.
+         * Undo the rotated command by reverting every change made since it was executed.
          */
         @Override
         public void undo() {
-            game.cemetery = prev_cemetery;
-            game.currentPlayer.piecesInBoard = prev_player_pieces_in_board;
-            game.future = prev_future;
-            game.board = prev_board;
-            gamePhase = prev_phase;
+            rollback(mark);
         }
     }
 
     /**
      * PassCommand class executes the pass as well as undo the pass (only for CREATE phase)
-     * It stores the information of the state of the game before the player passes its CREATE phase.
      */
-    private class PassCommand implements Command{
+    private class PassCommand extends GameCommand {
+
+        @Override
+        public int encode(){
+            return MoveRecorder.encode(MoveRecorder.PASS, null, 0, false);
+        }
 
         /**
          * Executes the pass command.
@@ -807,22 +1231,22 @@ public class Game extends Observable {
          * CREATE.
          */
         @Override
-        public void execute() {
+        protected void run() {
             switch(gamePhase){
                 case DISPLAY:
                     resetFuture();
                     warning = 0;
-                    if(future.isEmpty()) gamePhase = FINAL;
-                    else gamePhase = ACTION;
+                    if(future == 0) setGamePhase(FINAL);
+                    else setGamePhase(ACTION);
                     setStatus("Pass create phase");
                     break;
                 case ACTION:
-                    gamePhase = DISPLAY;
+                    setGamePhase(DISPLAY);
                     nextPlayer();
                     setStatus(currentPlayer.getName() + "'s turn");
                     break;
                 case FINAL:
-                    gamePhase = DISPLAY;
+                    setGamePhase(DISPLAY);
                     nextPlayer();
                     setStatus(currentPlayer.getName() + "'s turn");
                     break;
@@ -838,67 +1262,217 @@ public class Game extends Observable {
                 case CREATE:
                     throw new IllegalArgumentException("There are no more commands to undo");
                 case ACTION:
-                    gamePhase = DISPLAY;
-                    setStatus("Undo pass");
-                    break;
                 case FINAL:
-                    gamePhase = DISPLAY;
+                    rollback(mark);
+                    setGamePhase(DISPLAY);
                     setStatus("Undo pass");
                     break;
             }
         }
     }
-    
+
+    /**
+     * Revert every change recorded in the journal after the mark, latest change first.
+     * @param mark
+     *          Size of the journal to revert back to.
+     */
+    private void rollback(int mark){
+        while(journal.size() > mark){
+            PlayerPiece piece = journal.second() instanceof PlayerPiece ? (PlayerPiece) journal.second() : null;
+            switch(journal.kind()){
+                case Journal.CELL:
+                    board.setCell(journal.value() >> 8, (byte) journal.value());
+                    break;
+                case Journal.ORIENTATION:
+                    piece.setOrientation(journal.value());
+                    break;
+                case Journal.HAND_REMOVE:
+                    ((Player) journal.first()).hand.add(piece);
+                    break;
+                case Journal.BOARD_ADD:
+                    ((Player) journal.first()).removeFromPiecesInBoard(piece);
+                    break;
+                case Journal.BOARD_REMOVE:
+                    ((Player) journal.first()).addToPiecesInBoard(piece);
+                    break;
+                case Journal.CEMETERY_ADD:
+                    cemetery.remove(piece);
+                    break;
+                case Journal.FUTURE_ADD:
+                case Journal.FUTURE_REMOVE:
+                    future ^= 1L << piece.getId();
+                    stateHash ^= Zobrist.future(piece.getId());
+                    break;
+                case Journal.FUTURE_SET:
+                    long previous = journal.mask();
+                    stateHash ^= futureHash(future) ^ futureHash(previous);
+                    future = previous;
+                    break;
+                case Journal.PHASE:
+                    Phase phase = Phase.values()[journal.value()];
+                    stateHash ^= Zobrist.phase(gamePhase) ^ Zobrist.phase(phase);
+                    gamePhase = phase;
+                    break;
+                case Journal.GAME_OVER:
+                    gameOver = journal.value() == 1;
+                    winner = (Player) journal.first();
+                    break;
+                case Journal.TURN:
+                    moves--;
+                    warning = journal.value();
+                    commandManager = (CommandManager) journal.first();
+                    setCurrentPlayer((Player) journal.second());
+                    break;
+                case Journal.NEWLY_DEAD_ADD:
+                    newlyDead.remove(newlyDead.size() - 1);
+                    break;
+                case Journal.NEWLY_DEAD_REMOVE:
+                    newlyDead.add(piece);
+                    break;
+                case Journal.END_TIME:
+                    endTime = journal.mask();
+                    break;
+            }
+            journal.pop();
+        }
+    }
+
+    /**
+     * Set the Piece at the position of the createBoard, recording the previous content of the cell.
+     */
+    private void setSquare(Position pos, Piece piece){
+        int cell = Board.index(pos);
+        journal.record(Journal.CELL, cell << 8 | (board.getCell(cell) & 0xFF), null, null);
+        board.setSquare(pos, piece);
+    }
+
+    /**
+     * Rotate the PlayerPiece, recording its previous orientation.
+     */
+    private void rotate(PlayerPiece piece, int rotation){
+        journal.record(Journal.ORIENTATION, piece.getOrientation(), null, piece);
+        piece.rotate(rotation);
+    }
+
+    /**
+     * Remove the PlayerPiece from the player's hand, recording the change.
+     */
+    private void removeFromHand(Player player, PlayerPiece piece){
+        if(player.hand.remove(piece)){
+            journal.record(Journal.HAND_REMOVE, 0, player, piece);
+        }
+    }
+
     /**
-     * Check for reactions around PlayerPiece piece and return the list of reactions that will occur.
+     * Add the PlayerPiece to the player's piecesInBoard, recording the change.
+     */
+    private void addToPiecesInBoard(Player player, PlayerPiece piece){
+        if(player.addToPiecesInBoard(piece)){
+            journal.record(Journal.BOARD_ADD, 0, player, piece);
+        }
+    }
+
+    /**
+     * Remove the PlayerPiece from the player's piecesInBoard, recording the change.
+     */
+    private void removeFromPiecesInBoard(Player player, PlayerPiece piece){
+        if(player.removeFromPiecesInBoard(piece)){
+            journal.record(Journal.BOARD_REMOVE, 0, player, piece);
+        }
+    }
+
+    /**
+     * Add the PlayerPiece to the cemetery, recording the change.
+     */
+    private void addToCemetery(PlayerPiece piece){
+        cemetery.add(piece);
+        journal.record(Journal.CEMETERY_ADD, 0, null, piece);
+    }
+
+    /**
+     * Add the PlayerPiece to newlyDead, recording the change between a checkpoint and its restore.
+     */
+    private void addToNewlyDead(PlayerPiece piece){
+        newlyDead.add(piece);
+        if(checkpoints > 0){
+            journal.record(Journal.NEWLY_DEAD_ADD, 0, null, piece);
+        }
+    }
+
+    /**
+     * Check for reactions around PlayerPiece piece and execute them one direction at a time.
+     * Each direction is checked against the createBoard as it is after the reactions before it, since a reaction may
+     * push or eliminate the pieces involved in the next one.
      * @param piece
      *          PlayerPiece to check reactions against.
-     * @return
-     *          List of ReactionResult.
      */
-    private List<ReactionResult> checkForReactions(PlayerPiece piece){
-        List<ReactionResult> reactions = new ArrayList<>();
+    private void checkForReactions(PlayerPiece piece){
         // For each direction surrounding the piece.
         for(Direction direction: piece.DIRECTIONS){
-            // Retrieve the position at the corresponding direction.
-            Position positionAtDirection = piece.getPosition().moveBy(direction);
+            // An earlier reaction may have pushed the piece out of the createBoard, or never settled.
+            if(unsettled || cemetery.contains(piece)){
+                return;
+            }
+
+            // Retrieve the cell at the corresponding direction.
+            int cellAtDirection = Position.neighbor(piece.getPosition().index(), direction);
 
-            // If positionAtDirection is outside of the createBoard, we do not need to check for reactions.
-            if(positionAtDirection.outsideOfBoard()){
+            // If cellAtDirection is outside of the createBoard, we do not need to check for reactions.
+            if(cellAtDirection == Position.OUTSIDE){
                 continue;
             }
 
             // Get the piece at that direction.
-            Piece pieceAtDirection = board.getSquare(positionAtDirection);
+            Piece pieceAtDirection = board.getSquare(Position.at(cellAtDirection));
 
-            // Determine what reaction has occurred and store it in the list.
-            Reaction reaction;
-            ReactionResult result = null;
+            // Determine what reaction has occurred and execute it.
+            boolean reacted = false;
             if(pieceAtDirection instanceof PlayerPiece){
-                reaction = new Reaction(piece, (PlayerPiece) pieceAtDirection, direction);
-                result = reaction.getReactionResult();
+                reacted = Reaction.resolve(piece, (PlayerPiece) pieceAtDirection, direction, reaction);
             } else if(pieceAtDirection instanceof FacePiece){
-                reaction = new Reaction(piece, (FacePiece) pieceAtDirection, direction);
-                result = reaction.getWinningStatus();
+                reacted = Reaction.resolve(piece, (FacePiece) pieceAtDirection, direction, reaction);
             }
 
-            if(result != null){
-                reactions.add(result);
+            if(reacted){
+                executeReaction();
             }
         }
-        return reactions;
     }
 
     /**
-     * Execute all of the reactions.
-     * @param reactions
-     *          Reactions to be executed
-     *
+     * Execute the reaction resolved into the reaction buffer. The buffer is read before anything is executed, as a
+     * push resolves the reactions of the pushed piece into the same buffer.
+     */
+    private void executeReaction(){
+        PlayerPiece first = reaction.getPiece(0);
+        switch(reaction.getKind()){
+            case ReactionBuffer.ELIMINATE:
+                PlayerPiece second = reaction.getCount() > 1 ? reaction.getPiece(1) : null;
+                eliminate(first);
+                if(second != null){
+                    eliminate(second);
+                }
+                break;
+            case ReactionBuffer.PUSH:
+                push(first, reaction.getDirection());
+                break;
+            case ReactionBuffer.WIN:
+                playerHasWon(first);
+                break;
+        }
+    }
+
+    /**
+     * @param piece
+     *          PlayerPiece on the createBoard.
+     * @return
+     *          Player owning the PlayerPiece.
      */
-    private void executeReaction(List<ReactionResult> reactions) {
-        for(ReactionResult reactionResult : reactions){
-            reactionResult.execute(this);
+    private Player ownerOf(PlayerPiece piece){
+        if(piece.greenPlayer() == currentPlayer.isGreen()){
+            return currentPlayer;
         }
+        return piece.greenPlayer() ? getGreenPlayer() : getYellowPlayer();
     }
 
     /**
@@ -908,12 +1482,22 @@ public class Game extends Observable {
      */
     public void eliminate(List<PlayerPiece> toEliminate) {
         for(PlayerPiece piece : toEliminate){
-            cemetery.add(piece);
-            newlyDead.add(piece);
-            currentPlayer.removeFromPiecesInBoard(piece);
-            future.remove(piece);
-            board.setSquare(piece.getPosition(), new EmptyPiece());
+            eliminate(piece);
+        }
+    }
+
+    /**
+     * Eliminate the PlayerPiece, unless it is already in the cemetery.
+     */
+    private void eliminate(PlayerPiece piece){
+        if(cemetery.contains(piece)){
+            return;
         }
+        addToCemetery(piece);
+        addToNewlyDead(piece);
+        removeFromPiecesInBoard(ownerOf(piece), piece);
+        removeFromFuture(piece);
+        setSquare(piece.getPosition(), EMPTY_PIECE);
     }
 
     /**
@@ -924,6 +1508,23 @@ public class Game extends Observable {
      *          Direction to push.
      */
     public void push(PlayerPiece toPush, Direction direction){
-        new MovePieceCommand(this, toPush.getLetter(), direction, false).execute();
+        if(unsettled || cemetery.contains(toPush)){
+            return;
+        }
+
+        // A piece with swords on both sides caught between two shields is pushed back and forth forever, so give up
+        // on the action once the pushes nest deeper than any chain of pushes that settles could go. The reactions
+        // then unwind without doing anything more, and the command reverts the action.
+        if(pushDepth == MAX_PUSH_DEPTH){
+            unsettled = true;
+            return;
+        }
+        pushDepth++;
+        try {
+            new MovePieceCommand(toPush.getLetter(), direction, false).move();
+            pushes++;
+        } finally {
+            pushDepth--;
+        }
     }
 }
@@ -0,0 +1,304 @@
+package model;
+
+import model.piece.PlayerPiece;
+import model.player.Hand;
+import model.player.Player;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * GameSnapshot saves a game in progress to a compact binary format and loads it back. A snapshot holds:
+ *      - a magic number and the version of the format,
+ *      - the phase, the number of moves and the winner,
+ *      - the cells of the createBoard, encoded as in Board, with the orientation of each PlayerPiece on it,
+ *      - the undo counter and the pieces of the hand of the green and then the yellow player, in the order of the
+ *        hand,
+ *      - the pieces in the cemetery, in the order they arrived in,
+ *      - the bitmask of the ids of the PlayerPiece in future, all of them on the createBoard and owned by the player
+ *        whose turn it is.
+ * A piece of a hand or of the cemetery is a byte holding its id in the low 6 bits and its orientation in the top 2, so
+ * the orientation of every PlayerPiece is kept wherever it is.
+ * A snapshot takes at most MAX_BYTES bytes. The commands played during the turn the snapshot was taken in cannot be
+ * undone once it is loaded.
+ */
+public final class GameSnapshot {
+
+    /**
+     * "SWSH" in ASCII.
+     */
+    private static final int MAGIC = 0x53575348;
+
+    public static final short VERSION = 2;
+
+    private static final int NO_WINNER = 0;
+    private static final int GREEN_WINNER = 1;
+    private static final int YELLOW_WINNER = 2;
+
+    /**
+     * Largest size of a snapshot, in bytes: every piece is either on the createBoard, in a hand or in the cemetery.
+     */
+    public static final int MAX_BYTES = 4 + 2 + 1 + 4 + 1 + Board.ROWS * Board.COLS + 2 * (4 + 1) + 1
+            + PlayerPiece.PIECES + 8;
+
+    private GameSnapshot(){
+    }
+
+    /**
+     * Write a snapshot of the game into the buffer, from its position onwards.
+     * @param game
+     *          Game to save.
+     * @param buffer
+     *          Buffer with at least MAX_BYTES bytes remaining.
+     */
+    public static void write(Game game, ByteBuffer buffer){
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.put((byte) game.getGamePhase().ordinal());
+        buffer.putInt(game.getMoves());
+        Player winner = game.getWinner();
+        buffer.put((byte) (winner == null ? NO_WINNER : winner.isGreen() ? GREEN_WINNER : YELLOW_WINNER));
+
+        Board board = game.getBoard();
+        for(int cell = 0; cell < Board.ROWS * Board.COLS; cell++){
+            buffer.put(board.getCell(cell));
+        }
+
+        for(Player player : new Player[]{game.getGreenPlayer(), game.getYellowPlayer()}){
+            buffer.putInt(player.getUndoMoves());
+            buffer.put((byte) player.hand.size());
+            for(int i = 0; i < player.hand.size(); i++){
+                buffer.put(pieceByte(player.hand.getPiece(i)));
+            }
+        }
+
+        List<PlayerPiece> dead = game.getCemetery().getDeadPieces();
+        buffer.put((byte) dead.size());
+        for(PlayerPiece piece : dead){
+            buffer.put(pieceByte(piece));
+        }
+
+        buffer.putLong(game.getFutureMask());
+    }
+
+    /**
+     * Read a snapshot from the buffer, from its position onwards, into a new game.
+     * @param buffer
+     *          Buffer holding a snapshot written by write.
+     * @return
+     *          Game in the state the snapshot was taken in.
+     * @throws IllegalArgumentException
+     *          if the buffer does not hold a valid snapshot of this version.
+     */
+    public static Game read(ByteBuffer buffer){
+        try {
+            return readGame(buffer);
+        } catch (BufferUnderflowException e){
+            throw new IllegalArgumentException("The snapshot is truncated");
+        }
+    }
+
+    private static Game readGame(ByteBuffer buffer){
+        if(buffer.getInt() != MAGIC){
+            throw new IllegalArgumentException("This is not a snapshot of a game");
+        }
+        short version = buffer.getShort();
+        if(version != VERSION){
+            throw new IllegalArgumentException("Snapshots of version " + version + " are not supported");
+        }
+        int phase = buffer.get();
+        if(phase < 0 || phase >= Game.Phase.values().length){
+            throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+        int moves = buffer.getInt();
+        if(moves < 0){
+            throw new IllegalArgumentException("Negative number of moves " + moves);
+        }
+        int winner = buffer.get();
+        if(winner != NO_WINNER && winner != GREEN_WINNER && winner != YELLOW_WINNER){
+            throw new IllegalArgumentException("Unknown winner " + winner);
+        }
+
+        Game game = new Game(new Board());
+        Player green = game.getGreenPlayer();
+        Player yellow = game.getYellowPlayer();
+        PlayerPiece[] pieces = new PlayerPiece[PlayerPiece.PIECES];
+        for(Player player : new Player[]{green, yellow}){
+            for(int i = 0; i < player.hand.size(); i++){
+                PlayerPiece piece = player.hand.getPiece(i);
+                pieces[piece.getId()] = piece;
+            }
+        }
+
+        // Every piece must be found in exactly one place.
+        long seen = 0;
+
+        Board board = new Board();
+        for(int cell = 0; cell < Board.ROWS * Board.COLS; cell++){
+            byte value = buffer.get();
+            int unsigned = value & 0xFF;
+            if(unsigned < Board.PLAYER_CELLS){
+                seen = see(seen, unsigned >> 2);
+                PlayerPiece piece = pieces[unsigned >> 2];
+                piece.setOrientation(unsigned & 3);
+                board.setSquare(Position.at(cell), piece);
+            } else if(unsigned <= (Board.YELLOW_FACE & 0xFF)){
+                board.setCell(cell, value);
+            } else {
+                throw new IllegalArgumentException("Unknown cell " + unsigned);
+            }
+        }
+        long onBoard = seen;
+
+        for(Player player : new Player[]{green, yellow}){
+            player.setUndoMoves(buffer.getInt());
+            int size = buffer.get();
+            List<PlayerPiece> hand = new ArrayList<>();
+            for(int i = 0; i < size; i++){
+                PlayerPiece piece = readPiece(buffer, pieces);
+                seen = see(seen, piece.getId());
+                if(piece.greenPlayer() != player.isGreen()){
+                    throw new IllegalArgumentException("Piece " + piece.getId() + " is in the wrong hand");
+                }
+                hand.add(piece);
+            }
+            player.hand = new Hand(hand);
+        }
+
+        Cemetery cemetery = new Cemetery();
+        int size = buffer.get();
+        for(int i = 0; i < size; i++){
+            PlayerPiece piece = readPiece(buffer, pieces);
+            seen = see(seen, piece.getId());
+            cemetery.add(piece);
+        }
+        if(seen != (1L << PlayerPiece.PIECES) - 1){
+            throw new IllegalArgumentException("Piece " + Long.numberOfTrailingZeros(~seen) + " is missing");
+        }
+
+        long future = buffer.getLong();
+        if((future & ~onBoard) != 0){
+            throw new IllegalArgumentException("The future set holds pieces that are not on the createBoard");
+        }
+
+        Player winningPlayer = winner == GREEN_WINNER ? green : winner == YELLOW_WINNER ? yellow : null;
+        game.load(board, cemetery, future, Game.Phase.values()[phase], moves, winningPlayer);
+
+        // Only the pieces of the player whose turn it is can be in future.
+        long owned = game.getCurrentPlayer().getPiecesInBoardMask();
+        if((future & ~owned) != 0){
+            int id = Long.numberOfTrailingZeros(future & ~owned);
+            throw new IllegalArgumentException("Piece " + id + " is in the future set of the wrong player");
+        }
+        return game;
+    }
+
+    /**
+     * @return
+     *      Byte holding the id and the orientation of the piece.
+     */
+    private static byte pieceByte(PlayerPiece piece){
+        return (byte) (piece.getOrientation() << 6 | piece.getId());
+    }
+
+    /**
+     * Read the byte of a piece, and set the orientation of the piece it names.
+     * @throws IllegalArgumentException
+     *          if the id is not valid.
+     */
+    private static PlayerPiece readPiece(ByteBuffer buffer, PlayerPiece[] pieces){
+        int value = buffer.get() & 0xFF;
+        int id = value & 0x3F;
+        if(id >= PlayerPiece.PIECES){
+            throw new IllegalArgumentException("Unknown piece " + id);
+        }
+        pieces[id].setOrientation(value >> 6);
+        return pieces[id];
+    }
+
+    /**
+     * Mark the piece as seen.
+     * @throws IllegalArgumentException
+     *          if the id is not valid or the piece has already been seen.
+     */
+    private static long see(long seen, int id){
+        if(id < 0 || id >= PlayerPiece.PIECES){
+            throw new IllegalArgumentException("Unknown piece " + id);
+        } else if((seen & 1L << id) != 0){
+            throw new IllegalArgumentException("Piece " + id + " is found twice");
+        }
+        return seen | 1L << id;
+    }
+
+    /**
+     * Save a snapshot of the game to a file, replacing its contents.
+     * @param game
+     *          Game to save.
+     * @param path
+     *          File to save to.
+     * @param mapped
+     *          true to write through a memory-mapped buffer instead of writing to the channel.
+     */
+    public static void save(Game game, Path path, boolean mapped) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_BYTES);
+        write(game, buffer);
+        buffer.flip();
+        try(FileChannel channel = FileChannel.open(path, READ, WRITE, CREATE, TRUNCATE_EXISTING)){
+            if(mapped){
+                MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, buffer.remaining());
+                map.put(buffer);
+                map.force();
+            } else {
+                while(buffer.hasRemaining()){
+                    channel.write(buffer);
+                }
+            }
+        }
+    }
+
+    public static void save(Game game, Path path) throws IOException {
+        save(game, path, false);
+    }
+
+    /**
+     * Load a game from a snapshot saved to a file.
+     * @param path
+     *          File to load from.
+     * @param mapped
+     *          true to read through a memory-mapped buffer instead of reading from the channel.
+     * @return
+     *          Game in the state the snapshot was taken in.
+     * @throws IllegalArgumentException
+     *          if the file does not hold a valid snapshot of this version.
+     */
+    public static Game load(Path path, boolean mapped) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, READ)){
+            int size = (int) Math.min(channel.size(), MAX_BYTES);
+            ByteBuffer buffer;
+            if(mapped){
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buffer = ByteBuffer.allocate(size);
+                while(buffer.hasRemaining()){
+                    if(channel.read(buffer) < 0){
+                        break;
+                    }
+                }
+                buffer.flip();
+            }
+            return read(buffer);
+        }
+    }
+
+    public static Game load(Path path) throws IOException {
+        return load(path, false);
+    }
+}
@@ -0,0 +1,286 @@
+package model;
+
+import model.piece.PlayerPiece;
+
+/**
+ * GameState is an immutable snapshot of a Game: the createBoard, the hands, the cemetery, the future set, the phase and
+ * the player whose turn it is. Applying an action returns a new GameState and leaves this one as it was, so states
+ * can be kept as history or handed to other threads without copying them.
+ *
+ * A new state shares everything the action did not change with the state it came from. The createBoard is kept in
+ * rows and only the rows an action changed are copied. The cemetery is a linked list of the dead pieces, latest
+ * first, so a state only adds the pieces that died in its action in front of the list of its parent. The sets of
+ * pieces are bitmasks of their ids.
+ *
+ * The rules are those of CompactGame, which are the same as Game.
+ */
+public final class GameState {
+
+    /**
+     * CompactGame of each thread the actions are applied to.
+     */
+    private static final ThreadLocal<CompactGame> SCRATCH = ThreadLocal.withInitial(CompactGame::new);
+
+    /**
+     * Cells of the createBoard in rows of Board.COLS cells, encoded as in Board. Never modified once created.
+     */
+    private final byte[][] rows;
+
+    private final long hands;
+    private final long future;
+    private final long cemetery;
+    private final Dead dead;
+    private final Game.Phase phase;
+    private final boolean green;
+    private final int moves;
+    private final boolean gameOver;
+    private final boolean greenWon;
+    private final long hash;
+
+    /**
+     * Node of the list of dead PlayerPiece, shared by every state that came after it died.
+     */
+    private static final class Dead {
+        private final int id;
+        private final Dead next;
+        private final int size;
+
+        Dead(int id, Dead next){
+            this.id = id;
+            this.next = next;
+            this.size = next == null ? 1 : next.size + 1;
+        }
+    }
+
+    /**
+     * Take a snapshot of the state reached by the compact game, sharing the rows and the dead pieces of the parent
+     * state that have not changed.
+     */
+    private GameState(CompactGame game, GameState parent){
+        rows = new byte[Board.ROWS][];
+        for(int row = 0; row < Board.ROWS; row++){
+            if(parent != null && sameRow(game, parent.rows[row], row)){
+                rows[row] = parent.rows[row];
+                continue;
+            }
+            rows[row] = new byte[Board.COLS];
+            for(int col = 0; col < Board.COLS; col++){
+                rows[row][col] = game.getCell(row * Board.COLS + col);
+            }
+        }
+
+        // Pieces that died by the same action are listed in the order of their ids.
+        Dead list = parent == null ? null : parent.dead;
+        long parentCemetery = parent == null ? 0 : parent.cemetery;
+        for(long newlyDead = game.getCemetery() & ~parentCemetery; newlyDead != 0; newlyDead &= newlyDead - 1){
+            list = new Dead(Long.numberOfTrailingZeros(newlyDead), list);
+        }
+
+        hands = game.getHands();
+        future = game.getFuture();
+        cemetery = game.getCemetery();
+        dead = list;
+        phase = game.getGamePhase();
+        green = game.greenToMove();
+        moves = game.getMoves();
+        gameOver = game.gameOver();
+        greenWon = game.greenWon();
+        hash = game.getZobristHash();
+    }
+
+    /**
+     * Take a snapshot of the current state of the game. The pieces already in the cemetery are listed in the order
+     * they died.
+     * @param game
+     *          Game to take the snapshot of.
+     * @return
+     *          State of the game.
+     */
+    public static GameState of(Game game){
+        CompactGame compact = new CompactGame(game);
+        GameState state = new GameState(compact, null);
+        if(state.dead == null){
+            return state;
+        }
+
+        Dead list = null;
+        for(PlayerPiece piece : game.getCemetery().getDeadPieces()){
+            list = new Dead(piece.getId(), list);
+        }
+        return new GameState(state, list);
+    }
+
+    /**
+     * Copy the state with another list of dead pieces.
+     */
+    private GameState(GameState state, Dead dead){
+        this.rows = state.rows;
+        this.hands = state.hands;
+        this.future = state.future;
+        this.cemetery = state.cemetery;
+        this.dead = dead;
+        this.phase = state.phase;
+        this.green = state.green;
+        this.moves = state.moves;
+        this.gameOver = state.gameOver;
+        this.greenWon = state.greenWon;
+        this.hash = state.hash;
+    }
+
+    private static boolean sameRow(CompactGame game, byte[] row, int index){
+        for(int col = 0; col < Board.COLS; col++){
+            if(row[col] != game.getCell(index * Board.COLS + col)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Apply an action to the state, by the same rules as Game.
+     * @param action
+     *          Action encoded with Action.
+     * @return
+     *          New state after the action. This state is left unchanged.
+     * @throws IllegalArgumentException
+     *          if the action cannot be played, including when its reactions never settle, since there is no new
+     *          state to return.
+     */
+    public GameState apply(int action){
+        CompactGame game = SCRATCH.get();
+        game.copyFrom(this);
+        if(!game.apply(action)){
+            throw new IllegalArgumentException("The reactions of this action never settle");
+        }
+        return new GameState(game, this);
+    }
+
+    /**
+     * Generate every action the current player can take, like Game.generateActions.
+     * @param actions
+     *          Buffer of at least Action.MAX_ACTIONS ints to fill.
+     * @return
+     *          Number of actions written to the buffer.
+     */
+    public int generateActions(int[] actions){
+        CompactGame game = SCRATCH.get();
+        game.copyFrom(this);
+        return game.generateActions(actions);
+    }
+
+    byte getCell(int cell){
+        return rows[cell / Board.COLS][cell % Board.COLS];
+    }
+
+    long getHands(){
+        return hands;
+    }
+
+    long getFuture(){
+        return future;
+    }
+
+    long getCemetery(){
+        return cemetery;
+    }
+
+    /**
+     * @param pos
+     *          Position on the createBoard.
+     * @return
+     *          Id of the PlayerPiece at the position, or -1 if there is none.
+     */
+    public int getPieceId(Position pos){
+        int value = getCell(pos.index()) & 0xFF;
+        return value < Board.PLAYER_CELLS ? value >> 2 : -1;
+    }
+
+    /**
+     * @param pos
+     *          Position of a PlayerPiece on the createBoard.
+     * @return
+     *          Number of anticlockwise quarter turns of the PlayerPiece at the position.
+     */
+    public int getOrientation(Position pos){
+        return getCell(pos.index()) & 3;
+    }
+
+    /**
+     * @param id
+     *          Id of a PlayerPiece.
+     * @return
+     *          true if the PlayerPiece is in the hand of its player.
+     */
+    public boolean inHand(int id){
+        return (hands & 1L << id) != 0;
+    }
+
+    /**
+     * @param id
+     *          Id of a PlayerPiece.
+     * @return
+     *          true if the PlayerPiece can still be moved or rotated this turn.
+     */
+    public boolean inFuture(int id){
+        return (future & 1L << id) != 0;
+    }
+
+    /**
+     * @param id
+     *          Id of a PlayerPiece.
+     * @return
+     *          true if the PlayerPiece is in the cemetery.
+     */
+    public boolean isDead(int id){
+        return (cemetery & 1L << id) != 0;
+    }
+
+    /**
+     * @return
+     *      Ids of the PlayerPiece in the cemetery, in the order they died.
+     */
+    public int[] getDeadPieces(){
+        int[] ids = new int[dead == null ? 0 : dead.size];
+        int index = ids.length;
+        for(Dead node = dead; node != null; node = node.next){
+            ids[--index] = node.id;
+        }
+        return ids;
+    }
+
+    public Game.Phase getGamePhase(){
+        return phase;
+    }
+
+    /**
+     * @return
+     *      true if it is the green player's turn.
+     */
+    public boolean greenToMove(){
+        return green;
+    }
+
+    public int getMoves(){
+        return moves;
+    }
+
+    public boolean gameOver(){
+        return gameOver;
+    }
+
+    /**
+     * @return
+     *      true if the green player won the game.
+     */
+    public boolean greenWon(){
+        return greenWon;
+    }
+
+    /**
+     * @return
+     *      Zobrist hash of the state, the same as Game.getZobristHash for the same state.
+     */
+    public long getZobristHash(){
+        return hash;
+    }
+}
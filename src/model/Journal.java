@@ -0,0 +1,128 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Journal records every change made to the state of a Game, so that the changes can be reverted by replaying them
+ * backwards. Each entry holds the kind of change, a number and up to two objects describing what was there before.
+ * Entries are kept in parallel arrays, so recording a change does not allocate.
+ */
+final class Journal {
+
+    /**
+     * Kinds of change.
+     *      - CELL: a cell of the Board was set. The value holds the cell index and the previous byte of the cell.
+     *      - ORIENTATION: a PlayerPiece was rotated. The value holds its previous orientation.
+     *      - HAND_REMOVE: a PlayerPiece left the hand of a Player.
+     *      - BOARD_ADD / BOARD_REMOVE: a PlayerPiece was added to / removed from the piecesInBoard of a Player.
+     *      - CEMETERY_ADD: a PlayerPiece was added to the cemetery.
+     *      - FUTURE_ADD / FUTURE_REMOVE: a PlayerPiece was added to / removed from the future set.
+     *      - FUTURE_SET: the future set was replaced. The value holds the previous bitmask of the set.
+     *      - PHASE: the phase changed. The value holds the ordinal of the previous phase.
+     *      - GAME_OVER: the game was won. The value holds the previous gameOver flag and the first object the
+     *        previous winner.
+     *      - TURN: the game was passed to the next player. The value holds the previous warning count, the first
+     *        object the previous CommandManager and the second the previous player.
+     *      - NEWLY_DEAD_ADD / NEWLY_DEAD_REMOVE: a PlayerPiece was added to / removed from the end of newlyDead.
+     *      - END_TIME: the end time of the game was set. The value holds the previous end time.
+     */
+    static final int CELL = 0;
+    static final int ORIENTATION = 1;
+    static final int HAND_REMOVE = 2;
+    static final int BOARD_ADD = 3;
+    static final int BOARD_REMOVE = 4;
+    static final int CEMETERY_ADD = 5;
+    static final int FUTURE_ADD = 6;
+    static final int FUTURE_REMOVE = 7;
+    static final int FUTURE_SET = 8;
+    static final int PHASE = 9;
+    static final int GAME_OVER = 10;
+    static final int TURN = 11;
+    static final int NEWLY_DEAD_ADD = 12;
+    static final int NEWLY_DEAD_REMOVE = 13;
+    static final int END_TIME = 14;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] kinds = new int[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private Object[] firsts = new Object[INITIAL_CAPACITY];
+    private Object[] seconds = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Record a change.
+     * @param kind
+     *          Kind of the change.
+     * @param value
+     *          Number describing the state before the change.
+     * @param first
+     *          First object involved in the change, or null.
+     * @param second
+     *          Second object involved in the change, or null.
+     */
+    void record(int kind, long value, Object first, Object second){
+        if(size == kinds.length){
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            values = Arrays.copyOf(values, capacity);
+            firsts = Arrays.copyOf(firsts, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+        }
+        kinds[size] = kind;
+        values[size] = value;
+        firsts[size] = first;
+        seconds[size] = second;
+        size++;
+    }
+
+    /**
+     * @return
+     *      Number of changes recorded. A command keeps this as its mark to revert back to.
+     */
+    int size(){
+        return size;
+    }
+
+    /**
+     * Drop the latest change once it has been reverted.
+     */
+    void pop(){
+        size--;
+        firsts[size] = null;
+        seconds[size] = null;
+    }
+
+    /**
+     * Forget every change, when they can no longer be reverted.
+     */
+    void clear(){
+        while(size > 0){
+            pop();
+        }
+    }
+
+    int kind(){
+        return kinds[size - 1];
+    }
+
+    int value(){
+        return (int) values[size - 1];
+    }
+
+    /**
+     * @return
+     *      Value of the latest change as a bitmask, for the changes whose value does not fit in an int.
+     */
+    long mask(){
+        return values[size - 1];
+    }
+
+    Object first(){
+        return firsts[size - 1];
+    }
+
+    Object second(){
+        return seconds[size - 1];
+    }
+}
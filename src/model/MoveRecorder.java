@@ -0,0 +1,180 @@
+package model;
+
+import model.command.Command;
+import model.command.CommandListener;
+import model.piece.PlayerPiece;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MoveRecorder appends every command the players execute or undo to a journal file, so that the game can be
+ * archived and replayed by a MoveReplayer. It is attached to a new game with Game.setCommandListener.
+ *
+ * The file starts with a magic number and the version of the format, followed by one record of RECORD_BYTES bytes
+ * per command:
+ *      - the type of the command: CREATE, MOVE, ROTATE, PASS or UNDO,
+ *      - the id of the PlayerPiece, or -1 for a pass,
+ *      - the number of anticlockwise quarter turns of a create or rotate, or the ordinal of the direction of a move,
+ *      - 1 if the move is dominant, 0 otherwise,
+ *      - the time the command was recorded at, in milliseconds since the epoch.
+ * An UNDO record repeats the command it undid. Records are buffered and written in blocks, so the recorder must be
+ * flushed or closed for the latest of them to reach the file.
+ *
+ * A journal holds a single game. The commands are recorded after the game has changed, so a block that cannot be
+ * written does not stop the game: the failure is kept, nothing more is recorded, and flush and close throw it.
+ */
+public final class MoveRecorder implements CommandListener, Flushable, Closeable {
+
+    /**
+     * "SWSJ" in ASCII.
+     */
+    static final int MAGIC = 0x5357534A;
+
+    public static final short VERSION = 1;
+
+    static final int HEADER_BYTES = 4 + 2;
+    public static final int RECORD_BYTES = 4 + 8;
+
+    /**
+     * Types of record.
+     */
+    public static final int CREATE = 0;
+    public static final int MOVE = 1;
+    public static final int ROTATE = 2;
+    public static final int PASS = 3;
+    public static final int UNDO = 4;
+
+    private static final int BUFFER_BYTES = 4096;
+
+    /**
+     * Command that can be recorded.
+     */
+    interface Recordable {
+
+        /**
+         * @return
+         *      First four bytes of the record of the command, made by MoveRecorder.encode.
+         */
+        int encode();
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+    /**
+     * First failure to write the records, after which nothing more is recorded, or null.
+     */
+    private IOException failure;
+
+    /**
+     * Open a new journal file, creating it if it does not exist yet.
+     * @param path
+     *          Journal file.
+     * @throws IllegalArgumentException
+     *          if the file is not empty, since the records of another game would be replayed along with this one.
+     */
+    public MoveRecorder(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        if(channel.size() != 0){
+            channel.close();
+            throw new IllegalArgumentException("The journal already holds a game");
+        }
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        flush();
+    }
+
+    /**
+     * Pack the first four bytes of a record.
+     * @param type
+     *          Type of the command.
+     * @param letter
+     *          Letter of the PlayerPiece, or null for a pass.
+     * @param argument
+     *          Quarter turns of a create or rotate, or ordinal of the direction of a move.
+     * @param dominant
+     *          true if the move is dominant.
+     * @return
+     *          Packed bytes.
+     */
+    static int encode(int type, String letter, int argument, boolean dominant){
+        int id = letter == null ? -1 : PlayerPiece.idOf(letter);
+        return type << 24 | (id & 0xFF) << 16 | (argument & 0xFF) << 8 | (dominant ? 1 : 0);
+    }
+
+    @Override
+    public void executed(Command command){
+        if(command instanceof Recordable){
+            append(((Recordable) command).encode());
+        }
+    }
+
+    @Override
+    public void undone(Command command){
+        if(command instanceof Recordable){
+            append(UNDO << 24 | ((Recordable) command).encode() & 0xFFFFFF);
+        }
+    }
+
+    private void append(int record){
+        if(failure != null){
+            return;
+        }
+        if(buffer.remaining() < RECORD_BYTES){
+            try {
+                write();
+            } catch (IOException e){
+                failure = e;
+                return;
+            }
+        }
+        buffer.putInt(record);
+        buffer.putLong(System.currentTimeMillis());
+    }
+
+    /**
+     * @return
+     *      Failure to write the records, after which the journal stopped recording, or null if every record has
+     *      been kept.
+     */
+    public IOException getFailure(){
+        return failure;
+    }
+
+    /**
+     * Write the buffered records to the file.
+     * @throws IOException
+     *          if they cannot be written, or if earlier records could not be.
+     */
+    @Override
+    public void flush() throws IOException {
+        if(failure != null){
+            throw failure;
+        }
+        write();
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package model;
+
+import model.piece.PlayerPiece;
+import model.player.Player.Direction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * MoveReplayer reads back the records of a journal file written by a MoveRecorder, one at a time. Only a block of
+ * the file is held in memory at once, so a journal of any length can be replayed.
+ */
+public final class MoveReplayer implements Closeable {
+
+    private static final int BUFFER_BYTES = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+    /**
+     * Fields of the current record.
+     */
+    private int type;
+    private int piece;
+    private int argument;
+    private boolean dominant;
+    private long timestamp;
+
+    /**
+     * Open the journal file and check its header.
+     * @param path
+     *          Journal file.
+     * @throws IllegalArgumentException
+     *          if the file is not a journal of this version.
+     */
+    public MoveReplayer(Path path) throws IOException {
+        this.channel = FileChannel.open(path, READ);
+        buffer.flip();
+        try {
+            if(!fill(MoveRecorder.HEADER_BYTES) || buffer.getInt() != MoveRecorder.MAGIC){
+                throw new IllegalArgumentException("This is not a journal of moves");
+            }
+            short version = buffer.getShort();
+            if(version != MoveRecorder.VERSION){
+                throw new IllegalArgumentException("Journals of version " + version + " are not supported");
+            }
+        } catch (IllegalArgumentException | IOException e){
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read from the file until the buffer holds at least the number of bytes, unless the file ends first.
+     * @return
+     *      true if the buffer holds the bytes.
+     */
+    private boolean fill(int bytes) throws IOException {
+        if(buffer.remaining() >= bytes){
+            return true;
+        }
+        buffer.compact();
+        while(buffer.position() < bytes){
+            if(channel.read(buffer) < 0){
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+
+    /**
+     * Move on to the next record.
+     * @return
+     *      false once every record has been read.
+     * @throws IllegalArgumentException
+     *          if the journal ends in the middle of a record or holds a record of an unknown type.
+     */
+    public boolean next() throws IOException {
+        if(!fill(MoveRecorder.RECORD_BYTES)){
+            if(buffer.hasRemaining()){
+                throw new IllegalArgumentException("The journal ends in the middle of a record");
+            }
+            return false;
+        }
+        type = buffer.get();
+        piece = buffer.get();
+        argument = buffer.get();
+        dominant = buffer.get() != 0;
+        timestamp = buffer.getLong();
+        if(type < MoveRecorder.CREATE || type > MoveRecorder.UNDO){
+            throw new IllegalArgumentException("Unknown record " + type);
+        }
+        return true;
+    }
+
+    /**
+     * @return
+     *      Type of the current record, one of the types of MoveRecorder.
+     */
+    public int getType(){
+        return type;
+    }
+
+    /**
+     * @return
+     *      Letter of the PlayerPiece of the current record, or null for a pass.
+     */
+    public String getLetter(){
+        return piece < 0 ? null : PlayerPiece.letterOf(piece);
+    }
+
+    /**
+     * @return
+     *      Rotation in degrees of a create or rotate.
+     */
+    public int getRotation(){
+        return argument * 90;
+    }
+
+    /**
+     * @return
+     *      Direction of a move.
+     */
+    public Direction getDirection(){
+        return Direction.values()[argument];
+    }
+
+    public boolean isDominant(){
+        return dominant;
+    }
+
+    /**
+     * @return
+     *      Time the current record was recorded at, in milliseconds since the epoch.
+     */
+    public long getTimestamp(){
+        return timestamp;
+    }
+
+    /**
+     * Play the current record on the game, through the same commands the player used.
+     * @param game
+     *          Game the previous records have been played on.
+     */
+    public void playOn(Game game){
+        switch(type){
+            case MoveRecorder.CREATE:
+                game.createPiece(getLetter(), getRotation());
+                break;
+            case MoveRecorder.MOVE:
+                game.movePiece(getLetter(), getDirection(), dominant);
+                break;
+            case MoveRecorder.ROTATE:
+                game.rotatePiece(getLetter(), getRotation());
+                break;
+            case MoveRecorder.PASS:
+                game.pass();
+                break;
+            default:
+                game.undo();
+                break;
+        }
+    }
+
+    /**
+     * Rebuild a game from its journal.
+     * @param path
+     *          Journal file.
+     * @return
+     *          New game with every record played on it.
+     */
+    public static Game replay(Path path) throws IOException {
+        Game game = new Game(new Board());
+        try(MoveReplayer replayer = new MoveReplayer(path)){
+            while(replayer.next()){
+                replayer.playOn(game);
+            }
+        }
+        return game;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
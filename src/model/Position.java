@@ -4,22 +4,105 @@ import model.player.Player.Direction;
 
 /**
  * Represents an (x,y) position on the game board.
+ *
+ * Positions are immutable, so every position on the board and in the ring of squares just outside of it is created
+ * once and shared. Position.of hands them out, and moveBy never allocates from a shared position.
  */
 public final class Position {
     private final int x;
     private final int y;
 
+    private static final int ROWS = Board.ROWS;
+    private static final int COLS = Board.COLS;
+
+    /**
+     * Shared positions from (-1,-1) to (ROWS,COLS), including the ring of squares around the board.
+     */
+    private static final Position[] POSITIONS = new Position[(ROWS + 2) * (COLS + 2)];
+
+    /**
+     * Index of the cell next to each cell in each Direction, indexed by cell * 4 + the ordinal of the Direction.
+     * A neighbor outside of the board is OUTSIDE.
+     */
+    private static final int[] NEIGHBORS = new int[ROWS * COLS * 4];
+
+    /**
+     * Cell returned by neighbor when the neighbor is outside of the board.
+     */
+    public static final int OUTSIDE = -1;
+
+    static {
+        for(int x = -1; x <= ROWS; x++){
+            for(int y = -1; y <= COLS; y++){
+                POSITIONS[(x + 1) * (COLS + 2) + y + 1] = new Position(x, y);
+            }
+        }
+        for(int cell = 0; cell < ROWS * COLS; cell++){
+            for(Direction direction : Direction.values()){
+                Position next = at(cell).moveBy(direction);
+                NEIGHBORS[cell << 2 | direction.ordinal()] = next.outsideOfBoard() ? OUTSIDE : next.index();
+            }
+        }
+    }
+
     /**
-     * Construct a position on the board
+     * Construct a position on the board. Only used by Position.of, so that the positions it shares are the only
+     * ones on and around the board.
      *
      * @param x
      * @param y
      */
-    public Position(int x, int y) {
+    private Position(int x, int y) {
         this.x = x;
         this.y = y;
     }
 
+    /**
+     * Get the shared position at x and y. Positions further out than one square from the board are not shared.
+     * @param x
+     *          Row of the position.
+     * @param y
+     *          Column of the position.
+     * @return
+     *          Position at x and y.
+     */
+    public static Position of(int x, int y){
+        if(x >= -1 && x <= ROWS && y >= -1 && y <= COLS){
+            return POSITIONS[(x + 1) * (COLS + 2) + y + 1];
+        }
+        return new Position(x, y);
+    }
+
+    /**
+     * @param cell
+     *          Index of a cell of the board, x * 10 + y.
+     * @return
+     *          Shared position of the cell.
+     */
+    public static Position at(int cell){
+        return POSITIONS[(cell / COLS + 1) * (COLS + 2) + cell % COLS + 1];
+    }
+
+    /**
+     * @param cell
+     *          Index of a cell of the board.
+     * @param direction
+     *          Direction headed.
+     * @return
+     *          Index of the cell next to it in the direction, or OUTSIDE if it is outside of the board.
+     */
+    public static int neighbor(int cell, Direction direction){
+        return NEIGHBORS[cell << 2 | direction.ordinal()];
+    }
+
+    /**
+     * @return
+     *      Index of the cell of the position on the board, x * 10 + y.
+     */
+    public int index(){
+        return x * COLS + y;
+    }
+
     /**
      * Get the X component associated with this position.
      *
@@ -48,13 +131,13 @@ public final class Position {
     public Position moveBy(Direction direction){
         switch(direction){
             case UP:
-                return new Position(x-1, y);
+                return of(x-1, y);
             case DOWN:
-                return new Position(x+1, y);
+                return of(x+1, y);
             case LEFT:
-                return new Position(x, y-1);
+                return of(x, y-1);
             case RIGHT:
-                return new Position(x, y+1);
+                return of(x, y+1);
         }
         return null;
     }
@@ -64,7 +147,7 @@ public final class Position {
      *      True if the position if located outside the board. False otherwise.
      */
     public boolean outsideOfBoard(){
-        return this.getX() < 0 || this.getY() < 0 || this.getX() >= 10 || this.getY() >= 10;
+        return this.getX() < 0 || this.getY() < 0 || this.getX() >= ROWS || this.getY() >= COLS;
     }
 
     /**
@@ -0,0 +1,299 @@
+package model;
+
+import model.piece.EmptyPiece;
+import model.piece.Piece;
+import model.piece.PlayerPiece;
+import model.player.Hand;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * TextRenderer writes the text layout of the createBoard, a hand and the cemetery into builders it keeps, in one pass
+ * and without building each line as a String first. The text is only rendered again once what it shows has changed,
+ * so rendering the same state over and over, or each of its lines in turn, costs a comparison.
+ *
+ * The text returned is the builder of the renderer itself, so it is only valid until the renderer is asked for the
+ * same kind of text again. A renderer is not thread safe.
+ */
+public final class TextRenderer {
+
+    private static final String BOARD_HEADER = "     0   1   2   3   4   5   6   7   8   9  ";
+    private static final String BOARD_BORDER = "   +---+---+---+---+---+---+---+---+---+---+";
+
+    /**
+     * Lines of the hand, which is padded with blank lines to the height of the createBoard.
+     */
+    private static final int HAND_TOP_LINES = 6;
+    private static final int HAND_LINES = 42;
+    private static final int HAND_ROWS = 6;
+    private static final int HAND_COLS = 4;
+    private static final String HAND_BLANK = "                      ";
+    private static final String HAND_TITLE = " ###### WARRIORS #####";
+    private static final String HAND_BORDER = " # +---+---+---+---+ #";
+    private static final String HAND_BOTTOM = " #####################";
+
+    private static final int CEMETERY_ROWS = 3;
+    private static final int CEMETERY_COLS = 16;
+    private static final String CEMETERY_INDENT = "            ";
+    private static final String CEMETERY_BORDER =
+            "X +---+---+---+---+---+---+---+---+---+---+---+---+---+---+---+---+ X\n";
+
+    private static final Piece EMPTY_PIECE = new EmptyPiece();
+
+    /**
+     * Rendered text of each kind, the offset each of its lines starts at, and what it was rendered from.
+     */
+    private final StringBuilder board = new StringBuilder(2048);
+    private final int[] boardLines = new int[2 + Board.ROWS * 4 + 1];
+    private final byte[] boardCells = new byte[Board.ROWS * Board.COLS];
+    private boolean boardRendered;
+
+    private final StringBuilder hand = new StringBuilder(1024);
+    private final int[] handLines = new int[HAND_LINES + 1];
+    private long handIds;
+    private long handOrientations;
+    private boolean handRendered;
+
+    private final StringBuilder cemetery = new StringBuilder(2048);
+    private long deadIds;
+    private long greenDeadOrientations;
+    private long yellowDeadOrientations;
+    private boolean cemeteryRendered;
+
+    /**
+     * PlayerPiece of the hand or the cemetery being rendered, indexed by id. Only filled while the text is rendered
+     * again, and emptied once it is done.
+     */
+    private final PlayerPiece[] pieces = new PlayerPiece[PlayerPiece.PIECES];
+
+    /**
+     * @return
+     *      Text of the createBoard, the same as Board.toString.
+     */
+    public CharSequence render(Board board){
+        boolean changed = !boardRendered;
+        for(int cell = 0; cell < boardCells.length; cell++){
+            byte value = board.getCell(cell);
+            if(boardCells[cell] != value){
+                boardCells[cell] = value;
+                changed = true;
+            }
+        }
+        if(changed){
+            renderBoard(board);
+            boardRendered = true;
+        }
+        return this.board;
+    }
+
+    private void renderBoard(Board board){
+        StringBuilder out = this.board;
+        out.setLength(0);
+        int line = 0;
+        boardLines[line++] = out.length();
+        out.append(BOARD_HEADER).append('\n');
+        boardLines[line++] = out.length();
+        out.append(BOARD_BORDER).append('\n');
+
+        for(int row = 0; row < Board.ROWS; row++){
+            for(int part = 0; part < 3; part++){
+                boardLines[line++] = out.length();
+                if(part == 1){
+                    out.append(' ').append(row).append(" |");
+                } else {
+                    out.append("   |");
+                }
+                for(int col = 0; col < Board.COLS; col++){
+                    board.getSquare(Position.of(row, col)).appendLine(part, out);
+                    out.append('|');
+                }
+                out.append('\n');
+            }
+            boardLines[line++] = out.length();
+            out.append(BOARD_BORDER).append('\n');
+        }
+        boardLines[line] = out.length();
+    }
+
+    /**
+     * @param num
+     *          Number of the line, the same as Board.toLine.
+     * @return
+     *      Line of the text of the createBoard, without the line break.
+     */
+    public String renderLine(Board board, int num){
+        render(board);
+        return this.board.substring(boardLines[num], boardLines[num + 1] - 1);
+    }
+
+    /**
+     * @return
+     *      Text of the hand in the order of the letters of its PlayerPiece, the same as Hand.toString.
+     */
+    public CharSequence render(Hand hand){
+        long ids = 0;
+        long orientations = 0;
+        for(int i = 0; i < hand.size(); i++){
+            PlayerPiece piece = hand.getPiece(i);
+            ids |= 1L << piece.getId();
+            orientations |= (long) piece.getOrientation() << 2 * (piece.getId() % (PlayerPiece.PIECES / 2));
+        }
+        if(!handRendered || ids != handIds || orientations != handOrientations){
+            handIds = ids;
+            handOrientations = orientations;
+            renderHand(hand, ids);
+            handRendered = true;
+        }
+        return this.hand;
+    }
+
+    private void renderHand(Hand hand, long ids){
+        for(int i = 0; i < hand.size(); i++){
+            PlayerPiece piece = hand.getPiece(i);
+            pieces[piece.getId()] = piece;
+        }
+        StringBuilder out = this.hand;
+        out.setLength(0);
+        int line = 0;
+        while(line < HAND_TOP_LINES){
+            handLines[line++] = out.length();
+            out.append(HAND_BLANK).append('\n');
+        }
+        handLines[line++] = out.length();
+        out.append(HAND_TITLE).append('\n');
+        handLines[line++] = out.length();
+        out.append(HAND_BORDER).append('\n');
+
+        // The ids of a player's pieces are in the order of their letters.
+        Piece[] row = new Piece[HAND_COLS];
+        long remaining = ids;
+        for(int r = 0; r < HAND_ROWS; r++){
+            for(int col = 0; col < HAND_COLS; col++){
+                if(remaining == 0){
+                    row[col] = EMPTY_PIECE;
+                } else {
+                    row[col] = pieces[Long.numberOfTrailingZeros(remaining)];
+                    remaining &= remaining - 1;
+                }
+            }
+            for(int part = 0; part < 3; part++){
+                handLines[line++] = out.length();
+                out.append(" # |");
+                for(Piece piece : row){
+                    piece.appendLine(part, out);
+                    out.append('|');
+                }
+                out.append(" #\n");
+            }
+            handLines[line++] = out.length();
+            out.append(HAND_BORDER).append('\n');
+        }
+        handLines[line++] = out.length();
+        out.append(HAND_BOTTOM).append('\n');
+        while(line < HAND_LINES){
+            handLines[line++] = out.length();
+            out.append(HAND_BLANK).append('\n');
+        }
+        handLines[line] = out.length();
+        Arrays.fill(pieces, null);
+    }
+
+    /**
+     * @param num
+     *          Number of the line, the same as Hand.toLine.
+     * @return
+     *      Line of the text of the hand, without the line break.
+     */
+    public String renderLine(Hand hand, int num){
+        render(hand);
+        return this.hand.substring(handLines[num], handLines[num + 1] - 1);
+    }
+
+    /**
+     * @return
+     *      Text of the cemetery in the order of the letters of its PlayerPiece, the same as Cemetery.toString.
+     */
+    public CharSequence render(Cemetery cemetery){
+        long ids = 0;
+        long green = 0;
+        long yellow = 0;
+        for(int i = 0; i < cemetery.getDeadPiecesCount(); i++){
+            PlayerPiece piece = cemetery.getDeadPiece(i);
+            int id = piece.getId();
+            ids |= 1L << id;
+            if(id < PlayerPiece.PIECES / 2){
+                green |= (long) piece.getOrientation() << 2 * id;
+            } else {
+                yellow |= (long) piece.getOrientation() << 2 * (id - PlayerPiece.PIECES / 2);
+            }
+        }
+        if(!cemeteryRendered || ids != deadIds || green != greenDeadOrientations
+                || yellow != yellowDeadOrientations){
+            deadIds = ids;
+            greenDeadOrientations = green;
+            yellowDeadOrientations = yellow;
+            renderCemetery(cemetery, ids);
+            cemeteryRendered = true;
+        }
+        return this.cemetery;
+    }
+
+    private void renderCemetery(Cemetery cemetery, long ids){
+        for(int i = 0; i < cemetery.getDeadPiecesCount(); i++){
+            PlayerPiece piece = cemetery.getDeadPiece(i);
+            pieces[piece.getId()] = piece;
+        }
+        StringBuilder out = this.cemetery;
+        out.setLength(0);
+        out.append(CEMETERY_INDENT).append("---------------------------REST IN PEACE-----------------------------\n");
+        out.append(CEMETERY_INDENT).append("XXXXXXXXXXXXXXXXXXXXXXXXXXXX CEMETERY XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX\n");
+        out.append(CEMETERY_INDENT).append(CEMETERY_BORDER);
+
+        // Upper case letters come before lower case ones, as do the ids of the green pieces.
+        Piece[] row = new Piece[CEMETERY_COLS];
+        long remaining = ids;
+        for(int r = 0; r < CEMETERY_ROWS; r++){
+            for(int col = 0; col < CEMETERY_COLS; col++){
+                if(remaining == 0){
+                    row[col] = EMPTY_PIECE;
+                } else {
+                    row[col] = pieces[Long.numberOfTrailingZeros(remaining)];
+                    remaining &= remaining - 1;
+                }
+            }
+            for(int part = 0; part < 3; part++){
+                out.append(CEMETERY_INDENT).append("X |");
+                for(Piece piece : row){
+                    piece.appendLine(part, out);
+                    out.append('|');
+                }
+                out.append(" X\n");
+            }
+            out.append(CEMETERY_INDENT).append(CEMETERY_BORDER);
+        }
+        out.append(CEMETERY_INDENT).append("XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX");
+        Arrays.fill(pieces, null);
+    }
+
+    /**
+     * Append the text of the createBoard.
+     */
+    public void append(Board board, Appendable out) throws IOException {
+        out.append(render(board));
+    }
+
+    /**
+     * Append the text of the hand.
+     */
+    public void append(Hand hand, Appendable out) throws IOException {
+        out.append(render(hand));
+    }
+
+    /**
+     * Append the text of the cemetery.
+     */
+    public void append(Cemetery cemetery, Appendable out) throws IOException {
+        out.append(render(cemetery));
+    }
+}
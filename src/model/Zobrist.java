@@ -0,0 +1,96 @@
+package model;
+
+import model.piece.PlayerPiece;
+
+import java.util.Random;
+
+/**
+ * Zobrist keys used to hash the state of a Game. The hash of a state is the XOR of the keys of everything in it,
+ * so a change to the state only needs the keys of what was changed to update the hash.
+ * The keys come from a fixed seed so every JVM computes the same hash for the same state.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5A0D5A0D5A0DL;
+
+    /**
+     * Number of values a cell of the Board can hold.
+     */
+    private static final int CELL_VALUES = 256;
+
+    private static final long[] CELLS = new long[Board.ROWS * Board.COLS * CELL_VALUES];
+    private static final long[] FUTURE = new long[PlayerPiece.PIECES];
+    private static final long[] CEMETERY = new long[PlayerPiece.PIECES];
+    private static final long[] PHASES = new long[Game.Phase.values().length];
+    private static final long GREEN_TO_MOVE;
+
+    static {
+        Random random = new Random(SEED);
+        for(int i = 0; i < CELLS.length; i++){
+            CELLS[i] = random.nextLong();
+        }
+        for(int i = 0; i < PlayerPiece.PIECES; i++){
+            FUTURE[i] = random.nextLong();
+            CEMETERY[i] = random.nextLong();
+        }
+        for(int i = 0; i < PHASES.length; i++){
+            PHASES[i] = random.nextLong();
+        }
+        GREEN_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist(){
+    }
+
+    /**
+     * @param cell
+     *          Index of the cell on the Board.
+     * @param value
+     *          Value stored in the cell.
+     * @return
+     *          Key of the cell holding the value.
+     */
+    public static long cell(int cell, byte value){
+        return CELLS[cell * CELL_VALUES + (value & 0xFF)];
+    }
+
+    /**
+     * @param id
+     *          Id of the PlayerPiece.
+     * @return
+     *          Key of the PlayerPiece being in the future set.
+     */
+    public static long future(int id){
+        return FUTURE[id];
+    }
+
+    /**
+     * @param id
+     *          Id of the PlayerPiece.
+     * @return
+     *          Key of the PlayerPiece being in the cemetery.
+     */
+    public static long cemetery(int id){
+        return CEMETERY[id];
+    }
+
+    /**
+     * @param phase
+     *          Phase of the game.
+     * @return
+     *          Key of the game being in the phase.
+     */
+    public static long phase(Game.Phase phase){
+        return phase == null ? 0 : PHASES[phase.ordinal()];
+    }
+
+    /**
+     * @param green
+     *          true if it is the green player's turn.
+     * @return
+     *          Key of the player whose turn it is.
+     */
+    public static long side(boolean green){
+        return green ? GREEN_TO_MOVE : 0;
+    }
+}
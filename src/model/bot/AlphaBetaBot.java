@@ -0,0 +1,305 @@
+package model.bot;
+
+import model.Action;
+import model.Board;
+import model.Game;
+import model.Position;
+import model.piece.PlayerPiece;
+import model.player.Player;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * AlphaBetaBot searches the actions of both players with alpha-beta pruning and plays the best one.
+ *
+ * The search goes a whole turn at a time: the optional create, the moves and rotations of the pieces in future,
+ * then the pass. Each action of a turn is a ply of the search, searched one after another by the same player, and
+ * only the pass hands the search over to the other player. Actions are applied to the game itself between a checkpoint and its restore,
+ * so the reactions are resolved by the game as they would be in play, and nothing is cloned.
+ *
+ * The scores of the searched states are kept in a TranspositionTable, which also saves searching again a state
+ * reached by playing the actions of a turn in another order. The search deepens one turn at a time until it has
+ * searched the number of turns given, or until it has visited the number of nodes given.
+ */
+public class AlphaBetaBot implements Bot {
+
+    /**
+     * Score of a won game. Wins found in fewer plies score higher.
+     */
+    private static final int WIN = 1000000;
+    private static final int INFINITY = WIN + 1;
+
+    /**
+     * Scores beyond this are won or lost games. The evaluation never gets close to it.
+     */
+    private static final int WON = WIN / 2;
+
+    /**
+     * Weights of the evaluation: a piece in the cemetery, and each square a piece is closer to the opponent's
+     * FacePiece.
+     */
+    private static final int DEAD_PIECE = 100;
+    private static final int CLOSER = 2;
+
+    private static final Position GREEN_FACE = Position.of(1, 1);
+    private static final Position YELLOW_FACE = Position.of(8, 8);
+
+    private final int maxTurns;
+    private final long maxNodes;
+    private final TranspositionTable table;
+
+    /**
+     * Buffer of actions for each ply of the search.
+     */
+    private int[][] buffers = new int[32][];
+
+    /**
+     * Buffer of the cells holding a PlayerPiece, for the evaluation.
+     */
+    private final int[] pieceCells = new int[PlayerPiece.PIECES];
+
+    /**
+     * State of the current search.
+     */
+    private Game game;
+
+    /**
+     * Number of actions applied to the game since the start of the search.
+     */
+    private int ply;
+    private long nodes;
+    private boolean aborted;
+    private int rootBest;
+
+    /**
+     * Nodes visited and time spent over every search, to report the speed of the search.
+     */
+    private long totalNodes;
+    private long totalNanos;
+
+    /**
+     * @param maxTurns
+     *          Number of turns to search ahead, including the current one.
+     * @param maxNodes
+     *          Number of nodes after which the search of an action stops.
+     * @param tableBits
+     *          The transposition table has 2^tableBits entries.
+     */
+    public AlphaBetaBot(int maxTurns, long maxNodes, int tableBits){
+        if(maxTurns < 1){
+            throw new IllegalArgumentException("The search needs at least one turn");
+        }
+        this.maxTurns = maxTurns;
+        this.maxNodes = maxNodes;
+        this.table = new TranspositionTable(tableBits);
+    }
+
+    public AlphaBetaBot(){
+        this(2, 20000, 18);
+    }
+
+    @Override
+    public int chooseAction(Game game, int[] actions, int count, Random random) {
+        if(count == 1){
+            return actions[0];
+        }
+
+        this.game = game;
+        long start = System.nanoTime();
+        nodes = 0;
+        aborted = false;
+
+        int best = actions[random.nextInt(count)];
+        for(int turns = 1; turns <= maxTurns && !aborted; turns++){
+            rootBest = -1;
+            ply = 0;
+            search(turns, -INFINITY, INFINITY);
+
+            // A search cut short still found the best of the actions it had finished searching.
+            if(rootBest != -1 && (!aborted || turns == 1)){
+                best = rootBest;
+            }
+        }
+
+        totalNodes += nodes;
+        totalNanos += System.nanoTime() - start;
+        this.game = null;
+        return best;
+    }
+
+    /**
+     * Search the state of the game.
+     * @param turns
+     *          Turns left to search, counting the current one.
+     * @return
+     *          Score of the state for the current player.
+     */
+    private int search(int turns, int alpha, int beta){
+        nodes++;
+        if(nodes > maxNodes){
+            aborted = true;
+            return 0;
+        }
+        if(game.gameOver()){
+            int win = WIN - ply;
+            return game.getWinner().isGreen() == game.getCurrentPlayer().isGreen() ? win : -win;
+        }
+        if(turns == 0){
+            return evaluate();
+        }
+
+        // Use the result of an earlier search of the same state, or at least try its best action first.
+        long key = game.getZobristHash();
+        long entry = table.probe(key);
+        int hashAction = -1;
+        if(entry != 0){
+            hashAction = TranspositionTable.action(entry);
+            int score = fromTable(TranspositionTable.score(entry));
+            if(ply > 0 && TranspositionTable.depth(entry) >= turns){
+                switch(TranspositionTable.bound(entry)){
+                    case TranspositionTable.EXACT:
+                        return score;
+                    case TranspositionTable.LOWER:
+                        alpha = Math.max(alpha, score);
+                        break;
+                    case TranspositionTable.UPPER:
+                        beta = Math.min(beta, score);
+                        break;
+                }
+                if(alpha >= beta){
+                    return score;
+                }
+            }
+        }
+
+        int[] actions = buffer(ply);
+        int count = game.generateActions(actions);
+        for(int i = 1; i < count; i++){
+            if(actions[i] == hashAction){
+                actions[i] = actions[0];
+                actions[0] = hashAction;
+                break;
+            }
+        }
+
+        boolean green = game.getCurrentPlayer().isGreen();
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestAction = actions[0];
+        for(int i = 0; i < count; i++){
+            int action = actions[i];
+            int checkpoint = game.checkpoint();
+            if(!game.apply(action)){
+                // The reactions of the action never settle, so it cannot be played.
+                game.restore(checkpoint);
+                continue;
+            }
+
+            // The same player keeps searching until it passes the turn to the other player.
+            ply++;
+            int score = game.getCurrentPlayer().isGreen() == green
+                    ? search(turns, alpha, beta)
+                    : -search(turns - 1, -beta, -alpha);
+            ply--;
+            game.restore(checkpoint);
+
+            if(aborted){
+                return 0;
+            }
+            if(score > best){
+                best = score;
+                bestAction = action;
+                if(ply == 0){
+                    rootBest = action;
+                }
+            }
+            alpha = Math.max(alpha, score);
+            if(alpha >= beta){
+                break;
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(key, toTable(best), bestAction, turns, bound);
+        return best;
+    }
+
+    /**
+     * The score of a won game depends on the ply it was found at, so the table keeps it as the number of plies from
+     * the stored state to the end of the game, which is the same wherever the state is reached again.
+     * @return
+     *          Score to store in the TranspositionTable for the state at the current ply.
+     */
+    private int toTable(int score){
+        if(score > WON){
+            return score + ply;
+        } else if(score < -WON){
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * @return
+     *          Score stored in the TranspositionTable, for the state at the current ply.
+     */
+    private int fromTable(int score){
+        if(score > WON){
+            return score - ply;
+        } else if(score < -WON){
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Evaluate the state of the game for the current player, by the pieces each player has lost and how close their
+     * pieces on the createBoard are to the opponent's FacePiece.
+     */
+    private int evaluate(){
+        Player player = game.getCurrentPlayer();
+        Player opponent = player.isGreen() ? game.getYellowPlayer() : game.getGreenPlayer();
+        int score = DEAD_PIECE * (game.getDeadPiecesCount(opponent) - game.getDeadPiecesCount(player));
+
+        Board board = game.getBoard();
+        int pieces = board.getPieceCells(pieceCells);
+        for(int i = 0; i < pieces; i++){
+            Position position = Position.at(pieceCells[i]);
+            boolean green = ((PlayerPiece) board.getSquare(position)).greenPlayer();
+            Position target = green ? YELLOW_FACE : GREEN_FACE;
+            int distance = Math.abs(position.getX() - target.getX()) + Math.abs(position.getY() - target.getY());
+            int closeness = CLOSER * (Board.ROWS + Board.COLS - distance);
+            score += green == player.isGreen() ? closeness : -closeness;
+        }
+        return score;
+    }
+
+    private int[] buffer(int ply){
+        if(ply >= buffers.length){
+            buffers = Arrays.copyOf(buffers, buffers.length * 2);
+        }
+        if(buffers[ply] == null){
+            buffers[ply] = new int[Action.MAX_ACTIONS];
+        }
+        return buffers[ply];
+    }
+
+    /**
+     * @return
+     *      Number of nodes visited over every search.
+     */
+    public long getNodes(){
+        return totalNodes;
+    }
+
+    /**
+     * @return
+     *      Nodes visited per second over every search.
+     */
+    public double getNodesPerSecond(){
+        return totalNodes * 1e9 / Math.max(totalNanos, 1);
+    }
+}
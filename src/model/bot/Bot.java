@@ -0,0 +1,26 @@
+package model.bot;
+
+import model.Game;
+
+import java.util.Random;
+
+/**
+ * Bot is a strategy choosing the actions of a player, so that games can be played without a user.
+ */
+public interface Bot {
+
+    /**
+     * Choose the next action of the current player.
+     * @param game
+     *          Game to play. The bot may try actions on it, as long as it undoes them before returning.
+     * @param actions
+     *          Actions the current player can take, as generated by Game.generateActions.
+     * @param count
+     *          Number of actions in the buffer.
+     * @param random
+     *          Source of randomness of the game being played.
+     * @return
+     *          One of the actions in the buffer.
+     */
+    int chooseAction(Game game, int[] actions, int count, Random random);
+}
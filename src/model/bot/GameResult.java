@@ -0,0 +1,100 @@
+package model.bot;
+
+/**
+ * GameResult holds the statistics of one game played by bots.
+ */
+public class GameResult {
+
+    /**
+     * Outcome of the game. A game reaching the turn limit of the tournament is a draw.
+     */
+    public enum Outcome {
+        GREEN, YELLOW, DRAW,
+    }
+
+    public static final String CSV_HEADER = "game,outcome,moves,actions,green_dead,yellow_dead,nanos";
+
+    private final long game;
+    private final Outcome outcome;
+    private final int moves;
+    private final int actions;
+    private final int greenDead;
+    private final int yellowDead;
+    private final long nanos;
+
+    public GameResult(long game, Outcome outcome, int moves, int actions, int greenDead, int yellowDead, long nanos){
+        this.game = game;
+        this.outcome = outcome;
+        this.moves = moves;
+        this.actions = actions;
+        this.greenDead = greenDead;
+        this.yellowDead = yellowDead;
+        this.nanos = nanos;
+    }
+
+    public long getGame(){
+        return game;
+    }
+
+    public Outcome getOutcome(){
+        return outcome;
+    }
+
+    /**
+     * @return
+     *      Number of turns played, as counted by Game.moves.
+     */
+    public int getMoves(){
+        return moves;
+    }
+
+    /**
+     * @return
+     *      Number of actions played by both players.
+     */
+    public int getActions(){
+        return actions;
+    }
+
+    public int getGreenDead(){
+        return greenDead;
+    }
+
+    public int getYellowDead(){
+        return yellowDead;
+    }
+
+    /**
+     * @return
+     *      Time taken to play the game in nanoseconds.
+     */
+    public long getNanos(){
+        return nanos;
+    }
+
+    /**
+     * Append the result as a CSV row, in the order of CSV_HEADER.
+     */
+    public void appendCsv(StringBuilder out){
+        out.append(game).append(',')
+                .append(outcome.name().toLowerCase()).append(',')
+                .append(moves).append(',')
+                .append(actions).append(',')
+                .append(greenDead).append(',')
+                .append(yellowDead).append(',')
+                .append(nanos).append('\n');
+    }
+
+    /**
+     * Append the result as a JSON object on its own line.
+     */
+    public void appendJson(StringBuilder out){
+        out.append("{\"game\":").append(game)
+                .append(",\"outcome\":\"").append(outcome.name().toLowerCase())
+                .append("\",\"moves\":").append(moves)
+                .append(",\"actions\":").append(actions)
+                .append(",\"green_dead\":").append(greenDead)
+                .append(",\"yellow_dead\":").append(yellowDead)
+                .append(",\"nanos\":").append(nanos).append("}\n");
+    }
+}
@@ -0,0 +1,340 @@
+package model.bot;
+
+import model.Action;
+import model.CompactGame;
+import model.Game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MctsBot chooses its action by Monte Carlo tree search: it plays many games out from the current state with random
+ * actions, and grows a tree of the actions whose playouts went best for the player taking them.
+ *
+ * Playouts are played on a CompactGame, which plays by the same rules as Game but copies in a couple of array
+ * copies, so each playout starts from a fresh copy of the state instead of undoing its actions.
+ *
+ * Several threads search the same tree at once. A thread counts its visit of a node as soon as it goes through it
+ * and only adds the result once its playout is over, so until then the visit counts as a loss. This virtual loss
+ * steers the other threads towards other actions instead of them all playing out the same one.
+ */
+public class MctsBot implements Bot {
+
+    /**
+     * Exploration constant of UCT.
+     */
+    private static final double EXPLORATION = 1.4;
+
+    /**
+     * Number of turns after which a playout is stopped and scored by the pieces each player has lost.
+     */
+    private static final int PLAYOUT_TURNS = 40;
+
+    /**
+     * Score of a visit, for the player taking the action of the node. A draw is worth half a win.
+     */
+    private static final int WIN = 2;
+    private static final int DRAW = 1;
+    private static final int LOSS = 0;
+
+    private final long thinkNanos;
+    private final long maxPlayouts;
+    private final int threads;
+    private final ExecutorService pool;
+
+    /**
+     * Playouts and time spent over every search, to report the speed of the search.
+     */
+    private long totalPlayouts;
+    private long totalNanos;
+
+    /**
+     * @param thinkMillis
+     *          Time given to choose an action, in milliseconds, or 0 for no limit.
+     * @param maxPlayouts
+     *          Number of playouts after which the search stops, or 0 for no limit.
+     * @param threads
+     *          Number of threads searching at once.
+     */
+    public MctsBot(long thinkMillis, long maxPlayouts, int threads){
+        if(thinkMillis < 0 || maxPlayouts < 0 || (thinkMillis == 0 && maxPlayouts == 0)){
+            throw new IllegalArgumentException("The search needs a time limit or a playout limit");
+        } else if(threads < 1){
+            throw new IllegalArgumentException("The search needs at least one thread");
+        }
+        this.thinkNanos = thinkMillis * 1000000;
+        this.maxPlayouts = maxPlayouts;
+        this.threads = threads;
+        this.pool = threads == 1 ? null : Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mcts");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Search up to 1000 playouts for each action, with a thread on every core.
+     */
+    public MctsBot(){
+        this(0, 1000, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public int chooseAction(Game game, int[] actions, int count, Random random) {
+        if(count == 1){
+            return actions[0];
+        }
+
+        long start = System.nanoTime();
+        Search search = new Search(new CompactGame(game), actions, count, start);
+
+        if(pool == null){
+            search.run(new Random(random.nextLong()));
+        } else {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for(int i = 0; i < threads; i++){
+                Random workerRandom = new Random(random.nextLong());
+                workers.add(() -> {
+                    search.run(workerRandom);
+                    return null;
+                });
+            }
+            try {
+                for(Future<Void> worker : pool.invokeAll(workers)){
+                    worker.get();
+                }
+            } catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e){
+                throw new IllegalStateException("The search failed", e.getCause());
+            }
+        }
+
+        totalPlayouts += search.playouts.get();
+        totalNanos += System.nanoTime() - start;
+        return search.best();
+    }
+
+    /**
+     * Stop the search threads once the bot is not needed anymore.
+     */
+    public void shutdown(){
+        if(pool != null){
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return
+     *      Number of playouts over every search.
+     */
+    public long getPlayouts(){
+        return totalPlayouts;
+    }
+
+    /**
+     * @return
+     *      Playouts per second over every search, counting every thread.
+     */
+    public double getPlayoutsPerSecond(){
+        return totalPlayouts * 1e9 / Math.max(totalNanos, 1);
+    }
+
+    /**
+     * Node of the search tree, reached by playing its action from its parent.
+     */
+    private static final class Node {
+
+        private final int action;
+
+        /**
+         * True if the action was taken by the green player.
+         */
+        private final boolean green;
+
+        /**
+         * Visits of the node, counted as soon as a thread goes through it, and the sum of the scores of the visits
+         * whose playouts are over.
+         */
+        private final AtomicInteger visits = new AtomicInteger();
+        private final AtomicLong score = new AtomicLong();
+
+        /**
+         * Set once the action turned out to be rejected by the game.
+         */
+        private volatile boolean rejected;
+
+        private volatile Node[] children;
+
+        Node(int action, boolean green){
+            this.action = action;
+            this.green = green;
+        }
+
+        /**
+         * Create the children of the node, one for each action, unless another thread already has.
+         */
+        synchronized void expand(int[] actions, int count, boolean green, Random random){
+            if(children != null){
+                return;
+            }
+            Node[] nodes = new Node[count];
+            for(int i = 0; i < count; i++){
+                nodes[i] = new Node(actions[i], green);
+            }
+            // Shuffle the children so that the unvisited ones are tried in a random order.
+            for(int i = count - 1; i > 0; i--){
+                int j = random.nextInt(i + 1);
+                Node node = nodes[i];
+                nodes[i] = nodes[j];
+                nodes[j] = node;
+            }
+            children = nodes;
+        }
+
+        /**
+         * @return
+         *      Child with the highest UCT value, or null if every child was rejected.
+         */
+        Node select(){
+            double logVisits = Math.log(Math.max(visits.get(), 1));
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for(Node child : children){
+                if(child.rejected){
+                    continue;
+                }
+                int childVisits = child.visits.get();
+                if(childVisits == 0){
+                    return child;
+                }
+                double value = child.score.get() / (double) (WIN * childVisits)
+                        + EXPLORATION * Math.sqrt(logVisits / childVisits);
+                if(value > bestValue){
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Search of one action, shared by every thread.
+     */
+    private final class Search {
+
+        private final CompactGame root;
+        private final Node tree;
+        private final long deadline;
+        private final AtomicLong started = new AtomicLong();
+        private final AtomicLong playouts = new AtomicLong();
+
+        Search(CompactGame root, int[] actions, int count, long start){
+            this.root = root;
+            this.tree = new Node(-1, !root.greenToMove());
+            this.tree.expand(actions, count, root.greenToMove(), new Random(0));
+            this.deadline = start + thinkNanos;
+        }
+
+        /**
+         * Play out from the tree until the time is up or enough playouts have been played.
+         */
+        void run(Random random){
+            CompactGame state = new CompactGame();
+            int[] actions = new int[Action.MAX_ACTIONS];
+            List<Node> path = new ArrayList<>();
+
+            while((maxPlayouts == 0 || started.getAndIncrement() < maxPlayouts)
+                    && (thinkNanos == 0 || System.nanoTime() < deadline)){
+                state.copyFrom(root);
+                path.clear();
+                path.add(tree);
+                tree.visits.incrementAndGet();
+
+                // Select down the tree until a node that has not been expanded.
+                Node node = tree;
+                while(node.children != null && !state.gameOver()){
+                    Node child = node.select();
+                    if(child == null){
+                        break;
+                    }
+                    child.visits.incrementAndGet();
+                    if(!state.apply(child.action)){
+                        // The reactions of the action never settle, so it cannot be played.
+                        child.rejected = true;
+                        child.visits.decrementAndGet();
+                        continue;
+                    }
+                    path.add(child);
+                    node = child;
+                }
+
+                // Expand it once it has been visited before, so single visits do not grow the tree.
+                if(node.children == null && !state.gameOver() && node.visits.get() > 1){
+                    int count = state.generateActions(actions);
+                    node.expand(actions, count, state.greenToMove(), random);
+                }
+
+                int greenScore = playout(state, actions, random);
+                for(Node visited : path){
+                    visited.score.addAndGet(visited.green ? greenScore : WIN - greenScore);
+                }
+                playouts.incrementAndGet();
+            }
+        }
+
+        /**
+         * Play random actions until the game is over or the turn limit is reached.
+         * @return
+         *      Score of the playout for the green player. A playout stopped at the turn limit is won by the player
+         *      who has lost fewer pieces.
+         */
+        private int playout(CompactGame state, int[] actions, Random random){
+            int lastMove = state.getMoves() + PLAYOUT_TURNS;
+            while(!state.gameOver() && state.getMoves() < lastMove){
+                int count = state.generateActions(actions);
+                if(count == 0){
+                    break;
+                }
+                int index = random.nextInt(count);
+                while(!state.apply(actions[index])){
+                    actions[index] = actions[--count];
+                    if(count == 0){
+                        return greenScore(state);
+                    }
+                    index = random.nextInt(count);
+                }
+            }
+            return greenScore(state);
+        }
+
+        private int greenScore(CompactGame state){
+            if(state.gameOver()){
+                return state.greenWon() ? WIN : LOSS;
+            }
+            int difference = state.getDeadPiecesCount(false) - state.getDeadPiecesCount(true);
+            return difference > 0 ? WIN : difference < 0 ? LOSS : DRAW;
+        }
+
+        /**
+         * @return
+         *      Action of the most visited child of the root.
+         */
+        int best(){
+            Node best = null;
+            for(Node child : tree.children){
+                if(!child.rejected && (best == null || child.visits.get() > best.visits.get())){
+                    best = child;
+                }
+            }
+            // Only if none of the actions settles, in which case whichever is returned is rejected by the game, so
+            // return one of them rather than a pass that may not be among them.
+            return best == null ? tree.children[0].action : best.action;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package model.bot;
+
+import model.Action;
+import model.Board;
+import model.Game;
+import model.GameSnapshot;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft walks every sequence of actions from a state of a game down to a depth and counts what happens at each
+ * level: the states reached, the actions of each type, the pieces pushed and eliminated by the reactions, the wins
+ * and the actions rejected because their reactions never settle. The counts only change when the rules do, so they
+ * check the rules against known counts, and the time taken measures how fast the game applies and reverts actions.
+ *
+ * The depth is counted in single actions, or in whole turns, where every action of a turn up to its pass is on the
+ * same level. Actions are applied to the game itself between a checkpoint and its restore, like AlphaBetaBot does.
+ * The parallel walk splits the first levels into tasks of a ForkJoinPool, each walking its own copy of the game
+ * made with GameSnapshot.
+ */
+public class Perft {
+
+    /**
+     * Unit of depth.
+     *      - ACTIONS: every action is a level.
+     *      - TURNS: every turn is a level, ended by a pass or the end of the game.
+     */
+    public enum Mode {
+        ACTIONS, TURNS,
+    }
+
+    /**
+     * Number of levels the parallel walk splits into tasks.
+     */
+    private static final int SPLIT_LEVELS = 2;
+
+    private final Mode mode;
+
+    public Perft(Mode mode){
+        this.mode = mode;
+    }
+
+    /**
+     * Counts of each level, from 1 to the depth walked.
+     */
+    public static class Counts {
+
+        private final long[] nodes;
+        private final long[] creates;
+        private final long[] moves;
+        private final long[] rotates;
+        private final long[] passes;
+        private final long[] pushes;
+        private final long[] eliminations;
+        private final long[] wins;
+        private final long[] rejected;
+        private long nanos;
+
+        Counts(int depth){
+            nodes = new long[depth + 1];
+            creates = new long[depth + 1];
+            moves = new long[depth + 1];
+            rotates = new long[depth + 1];
+            passes = new long[depth + 1];
+            pushes = new long[depth + 1];
+            eliminations = new long[depth + 1];
+            wins = new long[depth + 1];
+            rejected = new long[depth + 1];
+        }
+
+        void add(Counts other){
+            for(int level = 0; level < nodes.length; level++){
+                nodes[level] += other.nodes[level];
+                creates[level] += other.creates[level];
+                moves[level] += other.moves[level];
+                rotates[level] += other.rotates[level];
+                passes[level] += other.passes[level];
+                pushes[level] += other.pushes[level];
+                eliminations[level] += other.eliminations[level];
+                wins[level] += other.wins[level];
+                rejected[level] += other.rejected[level];
+            }
+        }
+
+        public int getDepth(){
+            return nodes.length - 1;
+        }
+
+        /**
+         * @param level
+         *          Level from 1 to the depth.
+         * @return
+         *          Number of states at the end of the level, including those where the game is over.
+         */
+        public long getNodes(int level){
+            return nodes[level];
+        }
+
+        public long getCreates(int level){
+            return creates[level];
+        }
+
+        public long getMoves(int level){
+            return moves[level];
+        }
+
+        public long getRotates(int level){
+            return rotates[level];
+        }
+
+        public long getPasses(int level){
+            return passes[level];
+        }
+
+        public long getPushes(int level){
+            return pushes[level];
+        }
+
+        public long getEliminations(int level){
+            return eliminations[level];
+        }
+
+        public long getWins(int level){
+            return wins[level];
+        }
+
+        public long getRejected(int level){
+            return rejected[level];
+        }
+
+        /**
+         * @return
+         *      Actions applied per second over the walk, counting every thread.
+         */
+        public double getActionsPerSecond(){
+            long actions = 0;
+            for(int level = 1; level < nodes.length; level++){
+                actions += creates[level] + moves[level] + rotates[level] + passes[level];
+            }
+            return actions * 1e9 / Math.max(nanos, 1);
+        }
+
+        @Override
+        public String toString(){
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("%5s %14s %12s %12s %12s %12s %12s %12s %10s %10s%n", "depth", "nodes",
+                    "creates", "moves", "rotates", "passes", "pushes", "eliminated", "wins", "rejected"));
+            for(int level = 1; level < nodes.length; level++){
+                out.append(String.format("%5d %14d %12d %12d %12d %12d %12d %12d %10d %10d%n", level,
+                        nodes[level], creates[level], moves[level], rotates[level], passes[level],
+                        pushes[level], eliminations[level], wins[level], rejected[level]));
+            }
+            out.append(String.format("actions/s=%.0f", getActionsPerSecond()));
+            return out.toString();
+        }
+    }
+
+    /**
+     * Walk every sequence of actions from the current state of the game on the calling thread. The game is left in
+     * the state it was in.
+     * @param game
+     *          Game to walk from.
+     * @param depth
+     *          Number of levels to walk.
+     * @return
+     *          Counts of each level.
+     */
+    public Counts run(Game game, int depth){
+        checkDepth(depth);
+        long start = System.nanoTime();
+        Counts counts = new Counts(depth);
+        new Walk(game, counts).walk(depth, 1);
+        counts.nanos = System.nanoTime() - start;
+        return counts;
+    }
+
+    /**
+     * Walk every sequence of actions from the current state of the game on the threads of the pool. The game is
+     * left unchanged.
+     * @param game
+     *          Game to walk from.
+     * @param depth
+     *          Number of levels to walk.
+     * @param pool
+     *          Pool the walk is split across.
+     * @return
+     *          Counts of each level, the same as those of run.
+     */
+    public Counts run(Game game, int depth, ForkJoinPool pool){
+        checkDepth(depth);
+        long start = System.nanoTime();
+        Counts counts = pool.invoke(new Task(snapshot(game), depth, 1, SPLIT_LEVELS));
+        counts.nanos = System.nanoTime() - start;
+        return counts;
+    }
+
+    private static void checkDepth(int depth){
+        if(depth < 1){
+            throw new IllegalArgumentException("The depth must be at least 1");
+        }
+    }
+
+    private static byte[] snapshot(Game game){
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.MAX_BYTES);
+        GameSnapshot.write(game, buffer);
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip();
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Callback of the actions of a level that end the level, given the game after the action.
+     */
+    private interface Visitor {
+        void visit(Game game, int action);
+    }
+
+    /**
+     * Walk of one game on one thread.
+     */
+    private final class Walk {
+
+        private final Game game;
+        private final Counts counts;
+
+        /**
+         * Buffer of actions of each action deep the walk is.
+         */
+        private final List<int[]> buffers = new ArrayList<>();
+        private int height;
+
+        Walk(Game game, Counts counts){
+            this.game = game;
+            this.counts = counts;
+        }
+
+        /**
+         * Walk the levels below the current state.
+         * @param depth
+         *          Number of levels left to walk.
+         * @param level
+         *          Level of the actions to apply next.
+         */
+        void walk(int depth, int level){
+            forEachEnd(level, (game, action) -> {
+                if(depth > 1 && !game.gameOver()){
+                    walk(depth - 1, level + 1);
+                }
+            });
+        }
+
+        /**
+         * Apply every sequence of actions that ends the level, count them and call the visitor on each.
+         */
+        void forEachEnd(int level, Visitor visitor){
+            if(height == buffers.size()){
+                buffers.add(new int[Action.MAX_ACTIONS]);
+            }
+            int[] actions = buffers.get(height++);
+            int count = game.generateActions(actions);
+            boolean green = game.getCurrentPlayer().isGreen();
+
+            for(int i = 0; i < count; i++){
+                int action = actions[i];
+                int checkpoint = game.checkpoint();
+                long pushes = game.getPushes();
+                if(!game.apply(action)){
+                    // The reactions of the action never settle, so it cannot be played.
+                    game.restore(checkpoint);
+                    counts.rejected[level]++;
+                    continue;
+                }
+                count(action, level, game.getPushes() - pushes);
+
+                if(mode == Mode.ACTIONS || game.gameOver() || game.getCurrentPlayer().isGreen() != green){
+                    counts.nodes[level]++;
+                    if(game.gameOver()){
+                        counts.wins[level]++;
+                    }
+                    visitor.visit(game, action);
+                } else {
+                    // The same player carries on with the turn on the same level.
+                    forEachEnd(level, visitor);
+                }
+                game.restore(checkpoint);
+            }
+            height--;
+        }
+
+        private void count(int action, int level, long pushes){
+            switch(Action.type(action)){
+                case Action.CREATE:
+                    counts.creates[level]++;
+                    break;
+                case Action.MOVE:
+                    counts.moves[level]++;
+                    break;
+                case Action.ROTATE:
+                    counts.rotates[level]++;
+                    break;
+                default:
+                    counts.passes[level]++;
+                    break;
+            }
+            counts.pushes[level] += pushes;
+            counts.eliminations[level] += game.getNewlyDeadCount();
+        }
+    }
+
+    /**
+     * Task walking from a snapshot of a state. It splits the ends of its first level into subtasks until it has
+     * split enough levels, and walks the rest itself.
+     */
+    private final class Task extends RecursiveTask<Counts> {
+
+        private final byte[] state;
+        private final int depth;
+        private final int level;
+        private final int splits;
+
+        Task(byte[] state, int depth, int level, int splits){
+            this.state = state;
+            this.depth = depth;
+            this.level = level;
+            this.splits = splits;
+        }
+
+        @Override
+        protected Counts compute(){
+            Game game = GameSnapshot.read(ByteBuffer.wrap(state));
+            Counts counts = new Counts(level + depth - 1);
+            Walk walk = new Walk(game, counts);
+            if(depth == 1 || splits == 0){
+                walk.walk(depth, level);
+                return counts;
+            }
+
+            List<Task> tasks = new ArrayList<>();
+            walk.forEachEnd(level, (end, action) -> {
+                if(!end.gameOver()){
+                    tasks.add(new Task(snapshot(end), depth - 1, level + 1, splits - 1));
+                }
+            });
+            for(Task task : invokeAll(tasks)){
+                counts.add(task.join());
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Walk from the initial createBoard from the command line and print the counts of each level.
+     *      Perft depth [actions|turns] [threads]
+     */
+    public static void main(String[] args){
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        Mode mode = args.length > 1 ? Mode.valueOf(args[1].toUpperCase()) : Mode.ACTIONS;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        Perft perft = new Perft(mode);
+        Game game = new Game(new Board());
+        Counts counts;
+        if(threads == 1){
+            counts = perft.run(game, depth);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            counts = perft.run(game, depth, pool);
+            pool.shutdown();
+        }
+        System.out.println(counts);
+    }
+}
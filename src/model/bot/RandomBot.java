@@ -0,0 +1,16 @@
+package model.bot;
+
+import model.Game;
+
+import java.util.Random;
+
+/**
+ * RandomBot chooses any of the actions it can take with the same probability.
+ */
+public class RandomBot implements Bot {
+
+    @Override
+    public int chooseAction(Game game, int[] actions, int count, Random random) {
+        return actions[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,326 @@
+package model.bot;
+
+import model.Action;
+import model.Board;
+import model.Game;
+
+import java.io.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Tournament plays many games between two bots on every core, and streams the result of each game as it finishes.
+ *
+ * The games are split across a ForkJoinPool, each worker playing its own Game with its own bots, so the games share
+ * nothing but the counters of the summary and the output. Games are played headless, never notifying any observer.
+ */
+public class Tournament {
+
+    /**
+     * Format of the results written out.
+     *      - CSV: one row per game, after a header row.
+     *      - JSON: one JSON object per line for each game.
+     */
+    public enum Format {
+        CSV, JSON,
+    }
+
+    /**
+     * Games played by a worker before it writes their results out in one go.
+     */
+    private static final int GAMES_PER_TASK = 64;
+
+    /**
+     * Bots of each player. Every worker thread gets its own, so bots do not need to be thread safe.
+     */
+    private final ThreadLocal<Bot> greenBots;
+    private final ThreadLocal<Bot> yellowBots;
+
+    /**
+     * Buffer of actions of each worker thread.
+     */
+    private final ThreadLocal<int[]> actionBuffers = ThreadLocal.withInitial(() -> new int[Action.MAX_ACTIONS]);
+
+    /**
+     * Number of turns after which a game is called a draw.
+     */
+    private final int maxMoves;
+
+    private final Format format;
+
+    private final ForkJoinPool pool;
+
+    public Tournament(Supplier<? extends Bot> green, Supplier<? extends Bot> yellow, int maxMoves, Format format,
+                      int threads){
+        if(maxMoves <= 0){
+            throw new IllegalArgumentException("The turn limit must be positive");
+        }
+        this.greenBots = ThreadLocal.withInitial(green);
+        this.yellowBots = ThreadLocal.withInitial(yellow);
+        this.maxMoves = maxMoves;
+        this.format = format;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    public Tournament(Supplier<? extends Bot> green, Supplier<? extends Bot> yellow, int maxMoves, Format format){
+        this(green, yellow, maxMoves, format, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Play the games and write the result of each to out as soon as its batch is finished. The results come out in
+     * the order the games finish, which changes from run to run. A worker reuses its bots from one game to the next,
+     * so each game is only decided by the seed and its index for bots that keep nothing between games, like
+     * RandomBot. AlphaBetaBot keeps its transposition table, so its games also depend on which games the same worker
+     * played before.
+     * @param games
+     *          Number of games to play.
+     * @param seed
+     *          Seed of the randomness of every game.
+     * @param out
+     *          Where to write the results.
+     * @return
+     *          Summary of all the games.
+     */
+    public Summary play(long games, long seed, Appendable out) throws IOException {
+        Summary summary = new Summary(pool.getParallelism());
+        if(format == Format.CSV){
+            out.append(GameResult.CSV_HEADER).append('\n');
+        }
+
+        long start = System.nanoTime();
+        try {
+            pool.invoke(new Batch(0, games, seed, out, summary));
+        } catch (UncheckedIOException e){
+            throw e.getCause();
+        }
+        summary.nanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    /**
+     * Shut down the worker threads once no more games are to be played.
+     */
+    public void shutdown(){
+        pool.shutdown();
+    }
+
+    /**
+     * Play a single game between the bots of the current thread.
+     * @param index
+     *          Index of the game in the tournament.
+     * @param seed
+     *          Seed of the tournament.
+     * @return
+     *          Result of the game.
+     */
+    GameResult playGame(long index, long seed){
+        Random random = new Random(seed ^ index * 0x9E3779B97F4A7C15L);
+        Bot green = greenBots.get();
+        Bot yellow = yellowBots.get();
+        int[] actions = actionBuffers.get();
+
+        long start = System.nanoTime();
+        Game game = new Game(new Board());
+        int played = 0;
+        while(!game.gameOver() && game.getMoves() <= maxMoves){
+            Bot bot = game.getCurrentPlayer().isGreen() ? green : yellow;
+            int count = game.generateActions(actions);
+
+            // An action whose reactions never settle is rejected by the game, so the bot has to choose again
+            // without it. Passing is always accepted.
+            int action = bot.chooseAction(game, actions, count, random);
+            while(!game.play(action)){
+                count = remove(actions, count, action);
+                action = bot.chooseAction(game, actions, count, random);
+            }
+            played++;
+        }
+        long nanos = System.nanoTime() - start;
+
+        GameResult.Outcome outcome = GameResult.Outcome.DRAW;
+        if(game.gameOver()){
+            outcome = game.getWinner().isGreen() ? GameResult.Outcome.GREEN : GameResult.Outcome.YELLOW;
+        }
+        return new GameResult(index, outcome, game.getMoves(), played,
+                game.getDeadPiecesCount(game.getGreenPlayer()),
+                game.getDeadPiecesCount(game.getYellowPlayer()),
+                nanos);
+    }
+
+    /**
+     * Remove the action from the first count actions of the buffer.
+     * @return
+     *          Number of actions left.
+     */
+    private static int remove(int[] actions, int count, int action){
+        for(int i = 0; i < count; i++){
+            if(actions[i] == action){
+                actions[i] = actions[--count];
+                return count;
+            }
+        }
+        throw new IllegalStateException("The bot chose " + Action.toString(action) + " which it was not given");
+    }
+
+    /**
+     * Batch is a range of games that is split in halves until it is small enough to be played by one worker.
+     */
+    private class Batch extends RecursiveAction {
+
+        private final long from;
+        private final long to;
+        private final long seed;
+        private final Appendable out;
+        private final Summary summary;
+
+        Batch(long from, long to, long seed, Appendable out, Summary summary){
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.out = out;
+            this.summary = summary;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from > GAMES_PER_TASK){
+                long middle = (from + to) >>> 1;
+                invokeAll(new Batch(from, middle, seed, out, summary), new Batch(middle, to, seed, out, summary));
+                return;
+            }
+
+            StringBuilder results = new StringBuilder();
+            for(long index = from; index < to; index++){
+                GameResult result = playGame(index, seed);
+                summary.add(result);
+                if(format == Format.CSV){
+                    result.appendCsv(results);
+                } else {
+                    result.appendJson(results);
+                }
+            }
+
+            synchronized (out){
+                try {
+                    out.append(results);
+                } catch (IOException e){
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Summary of a tournament, counted concurrently by the workers.
+     */
+    public static class Summary {
+
+        private final LongAdder greenWins = new LongAdder();
+        private final LongAdder yellowWins = new LongAdder();
+        private final LongAdder draws = new LongAdder();
+        private final LongAdder moves = new LongAdder();
+        private final LongAdder actions = new LongAdder();
+        private final LongAdder dead = new LongAdder();
+        private final int threads;
+        private long nanos;
+
+        Summary(int threads){
+            this.threads = threads;
+        }
+
+        void add(GameResult result){
+            switch(result.getOutcome()){
+                case GREEN:
+                    greenWins.increment();
+                    break;
+                case YELLOW:
+                    yellowWins.increment();
+                    break;
+                default:
+                    draws.increment();
+                    break;
+            }
+            moves.add(result.getMoves());
+            actions.add(result.getActions());
+            dead.add(result.getGreenDead() + result.getYellowDead());
+        }
+
+        public long getGames(){
+            return greenWins.sum() + yellowWins.sum() + draws.sum();
+        }
+
+        public long getGreenWins(){
+            return greenWins.sum();
+        }
+
+        public long getYellowWins(){
+            return yellowWins.sum();
+        }
+
+        public long getDraws(){
+            return draws.sum();
+        }
+
+        public double getGamesPerSecond(){
+            return getGames() * 1e9 / Math.max(nanos, 1);
+        }
+
+        public double getGamesPerSecondPerCore(){
+            return getGamesPerSecond() / threads;
+        }
+
+        @Override
+        public String toString(){
+            long games = Math.max(getGames(), 1);
+            return String.format("games=%d green=%d yellow=%d draws=%d moves/game=%.1f actions/game=%.1f " +
+                            "dead/game=%.1f threads=%d games/s=%.1f games/s/core=%.1f",
+                    getGames(), getGreenWins(), getYellowWins(), getDraws(),
+                    (double) moves.sum() / games, (double) actions.sum() / games, (double) dead.sum() / games,
+                    threads, getGamesPerSecond(), getGamesPerSecondPerCore());
+        }
+    }
+
+    /**
+     * Play a tournament from the command line, writing the results to standard output and the summary to standard
+     * error.
+     *      Tournament games [seed] [csv|json] [green bot] [yellow bot] [turn limit]
+     */
+    public static void main(String[] args) throws IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        Format format = args.length > 2 ? Format.valueOf(args[2].toUpperCase()) : Format.CSV;
+        Supplier<Bot> green = bot(args.length > 3 ? args[3] : "random");
+        Supplier<Bot> yellow = bot(args.length > 4 ? args[4] : "random");
+        int maxMoves = args.length > 5 ? Integer.parseInt(args[5]) : 500;
+
+        Tournament tournament = new Tournament(green, yellow, maxMoves, format);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+        Summary summary = tournament.play(games, seed, out);
+        out.flush();
+        tournament.shutdown();
+        System.err.println(summary);
+    }
+
+    /**
+     * @param name
+     *          Name of a bot.
+     * @return
+     *          Supplier of the bot with the name.
+     */
+    static Supplier<Bot> bot(String name){
+        switch(name){
+            case "random":
+                return RandomBot::new;
+            case "alphabeta":
+                return AlphaBetaBot::new;
+            case "mcts":
+                // The games are already played on every core, so each search keeps to its own thread.
+                return () -> new MctsBot(0, 1000, 1);
+            default:
+                throw new IllegalArgumentException("There is no bot called " + name);
+        }
+    }
+}
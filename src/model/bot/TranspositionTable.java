@@ -0,0 +1,83 @@
+package model.bot;
+
+/**
+ * TranspositionTable caches the results of a search by the Zobrist hash of the searched state, so that a state
+ * reached again by playing the same actions in another order is only searched once.
+ *
+ * The table has a fixed number of slots and the hash decides the slot of a state. A new result replaces the result
+ * in its slot, unless the slot holds the same state searched deeper. Each slot keeps the full hash along with the
+ * result packed into a long:
+ *      - bits 0-31: score
+ *      - bits 32-43: best action
+ *      - bits 44-51: depth searched, in turns
+ *      - bits 52-53: bound of the score
+ */
+final class TranspositionTable {
+
+    /**
+     * Bound of a stored score.
+     *      - EXACT: the score of the state.
+     *      - LOWER: the state is worth at least the score.
+     *      - UPPER: the state is worth at most the score.
+     */
+    static final int EXACT = 1;
+    static final int LOWER = 2;
+    static final int UPPER = 3;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int mask;
+
+    /**
+     * @param bits
+     *          The table has 2^bits slots.
+     */
+    TranspositionTable(int bits){
+        if(bits < 1 || bits > 30){
+            throw new IllegalArgumentException("The table must have between 2^1 and 2^30 slots");
+        }
+        keys = new long[1 << bits];
+        entries = new long[1 << bits];
+        mask = (1 << bits) - 1;
+    }
+
+    /**
+     * @param key
+     *          Zobrist hash of the state.
+     * @return
+     *          Entry stored for the state, or 0 if there is none.
+     */
+    long probe(long key){
+        int slot = (int) key & mask;
+        return keys[slot] == key ? entries[slot] : 0;
+    }
+
+    /**
+     * Store the result of searching a state.
+     */
+    void store(long key, int score, int action, int depth, int bound){
+        int slot = (int) key & mask;
+        if(keys[slot] == key && depth(entries[slot]) > depth){
+            return;
+        }
+        keys[slot] = key;
+        entries[slot] = (score & 0xFFFFFFFFL) | (long) (action & 0xFFF) << 32 | (long) (depth & 0xFF) << 44
+                | (long) bound << 52;
+    }
+
+    static int score(long entry){
+        return (int) entry;
+    }
+
+    static int action(long entry){
+        return (int) (entry >>> 32) & 0xFFF;
+    }
+
+    static int depth(long entry){
+        return (int) (entry >>> 44) & 0xFF;
+    }
+
+    static int bound(long entry){
+        return (int) (entry >>> 52) & 3;
+    }
+}
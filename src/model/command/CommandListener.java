@@ -0,0 +1,20 @@
+package model.command;
+
+/**
+ * CommandListener is told about every Command a CommandManager executes or undoes, once it has succeeded. A Command
+ * that fails to execute is not reported.
+ */
+public interface CommandListener {
+
+    /**
+     * @param command
+     *          Command that has just been executed.
+     */
+    void executed(Command command);
+
+    /**
+     * @param command
+     *          Command that has just been undone.
+     */
+    void undone(Command command);
+}
@@ -9,10 +9,28 @@ public class CommandManager {
 
     private Stack<Command> undos;
 
+    /**
+     * Listener told about every command executed or undone, or null.
+     */
+    private CommandListener listener;
+
     public CommandManager(){
         this.undos = new Stack<>();
     }
 
+    /**
+     * @param listener
+     *      Listener told about every command executed or undone, or null.
+     */
+    public CommandManager(CommandListener listener){
+        this();
+        this.listener = listener;
+    }
+
+    public void setListener(CommandListener listener){
+        this.listener = listener;
+    }
+
     /**
      * Executes the command and pushing it into the stack in order to undo the command later on, if needed.
      * @param c
@@ -20,7 +38,20 @@ public class CommandManager {
      */
     public void executeCommand (Command c) {
         c.execute();
+        addExecuted(c);
+    }
+
+    /**
+     * Pushes a command that has already been executed into the stack in order to undo the command later on, if
+     * needed.
+     * @param c
+     *      Command that has been executed.
+     */
+    public void addExecuted(Command c) {
         undos.push(c);
+        if(listener != null){
+            listener.executed(c);
+        }
     }
 
     /**
@@ -38,5 +69,8 @@ public class CommandManager {
     public void undo(){
         Command command = undos.pop();
         command.undo();
+        if(listener != null){
+            listener.undone(command);
+        }
     }
 }
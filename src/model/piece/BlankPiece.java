@@ -1,10 +1,5 @@
 package model.piece;
 
-import gui.drawers.SquareButton;
-import model.Position;
-
-import java.awt.*;
-
 /**
  * Represents the empty piece inside the Board that should never have any piece placed.
  * Anytime a PlayerPiece moves into the BlankPiece, it ends up in the cemetery.
@@ -18,13 +13,4 @@ public class BlankPiece extends Piece {
                 {"X", "X", "X"}
         };
     }
-
-    @Override
-    public SquareButton createButton(Position position, SquareButton.Panel squareType) {
-        SquareButton squareButton = new SquareButton(this, position, squareType);
-        squareButton.setBackground(Color.GRAY);
-        squareButton.setOpaque(true);
-        squareButton.setBorderPainted(false);
-        return squareButton;
-    }
 }
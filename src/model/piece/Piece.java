@@ -1,8 +1,5 @@
 package model.piece;
 
-import gui.drawers.SquareButton;
-import model.Position;
-
 /**
  * This class represents all pieces. All the various types of piece in the game extends this superclass.
  */
@@ -26,6 +23,17 @@ public abstract class Piece {
         return m_rep[2][0] + m_rep[2][1] + m_rep[2][2];
     }
 
+    /**
+     * Append a line of the String representation of the Piece without building it as a String first.
+     * @param line
+     *          0 for the top line, 1 for the middle line and 2 for the bottom line.
+     * @param out
+     *          Builder to append to.
+     */
+    public void appendLine(int line, StringBuilder out){
+        out.append(m_rep[line][0]).append(m_rep[line][1]).append(m_rep[line][2]);
+    }
+
     public String toString(){
         return  topLine() + "\n" + midLine() + "\n" + bottomLine() + "\n";
     }
@@ -38,15 +46,4 @@ public abstract class Piece {
     public Piece clone(){
         return this;
     }
-
-    /**
-     * Generate the SquareButton needed for the view based on the type.
-     * @param position
-     *          Position of the Piece on the createBoard.
-     * @param squareType
-     *          Panel of the Piece in the view. (Cemetery, createBoard or creation shelf)
-     * @return
-     *          Appropriate SquareButton based on type.
-     */
-    public abstract SquareButton createButton(Position position, SquareButton.Panel squareType);
-}
\ No newline at end of file
+}
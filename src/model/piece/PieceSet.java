@@ -0,0 +1,65 @@
+package model.piece;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * PieceSet is a read-only view of a set of PlayerPiece kept as a bitmask of their ids. The view reads the mask each
+ * time it is used, so it follows the changes of the set it was made from without copying anything.
+ */
+public final class PieceSet extends AbstractSet<PlayerPiece> {
+
+    private final LongSupplier mask;
+    private final IntFunction<PlayerPiece> pieces;
+
+    /**
+     * @param mask
+     *          Bitmask of the ids of the PlayerPiece in the set, read whenever the view is used.
+     * @param pieces
+     *          PlayerPiece of each id in the mask.
+     */
+    public PieceSet(LongSupplier mask, IntFunction<PlayerPiece> pieces){
+        this.mask = mask;
+        this.pieces = pieces;
+    }
+
+    @Override
+    public boolean contains(Object o){
+        return o instanceof PlayerPiece && (mask.getAsLong() & 1L << ((PlayerPiece) o).getId()) != 0;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return mask.getAsLong() == 0;
+    }
+
+    @Override
+    public int size(){
+        return Long.bitCount(mask.getAsLong());
+    }
+
+    @Override
+    public Iterator<PlayerPiece> iterator(){
+        return new Iterator<PlayerPiece>() {
+            private long remaining = mask.getAsLong();
+
+            @Override
+            public boolean hasNext(){
+                return remaining != 0;
+            }
+
+            @Override
+            public PlayerPiece next(){
+                if(remaining == 0){
+                    throw new NoSuchElementException();
+                }
+                int id = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return pieces.apply(id);
+            }
+        };
+    }
+}
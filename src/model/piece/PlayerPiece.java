@@ -1,12 +1,9 @@
 package model.piece;
 
-import gui.drawers.SquareButton;
-import gui.views.PrimaryView;
 import model.Position;
 import model.player.Player.Direction;
 
-import javax.swing.*;
-import java.awt.*;
+import java.util.Arrays;
 
 import static model.player.Player.Direction.*;
 
@@ -84,34 +81,151 @@ public class PlayerPiece extends Piece {
     }
 
     /**
-     * Items that are held by the PlayerPiece at all directions.
+     * Items and text rows of the PlayerPiece in each of its orientations, shared by every clone of the PlayerPiece.
      */
-    private Item top, left, bottom, right;
+    private final Orientations orientations;
+
+    /**
+     * Number of anticlockwise quarter turns applied to the items, from 0 to 3.
+     */
+    private int orientation;
 
     private String letter;
+    private int id;
     private Position position;
     public static final Direction[] DIRECTIONS = new Direction[]{UP, LEFT, DOWN, RIGHT};
 
+    /**
+     * Number of distinct PlayerPiece in the game. Green owns A to X and yellow owns a to x.
+     */
+    public static final int PIECES = 48;
+
+    /**
+     * Letters of the PlayerPiece indexed by their id.
+     */
+    private static final String[] LETTERS = new String[PIECES];
+
+    /**
+     * Orientations of the last PlayerPiece defined for each id. The players define the same pieces for every game,
+     * so each of them is only worked out once. Orientations is immutable, so a race only works one out twice.
+     */
+    private static final Orientations[] DEFINED = new Orientations[PIECES];
+
+    static {
+        for(int id = 0; id < PIECES / 2; id++){
+            LETTERS[id] = String.valueOf((char) ('A' + id));
+            LETTERS[PIECES / 2 + id] = String.valueOf((char) ('a' + id));
+        }
+    }
+
     public PlayerPiece(Item top, Item left, Item bottom, Item right, String letter){
-        this.top = top;
-        this.left = left;
-        this.bottom = bottom;
-        this.right = right;
+        this(new Item[]{top, left, bottom, right}, letter);
+    }
+
+    private PlayerPiece(Item[] items, String letter){
+        this(orientationsOf(items, letter), letter);
+    }
+
+    private PlayerPiece(Orientations orientations, String letter){
+        this.orientations = orientations;
         this.letter = letter;
+        this.id = idOf(letter);
+        this.m_rep = orientations.rows[0];
+    }
+
+    /**
+     * @return
+     *      Orientations of a PlayerPiece holding the items, reusing the ones of its id if it has been defined with the
+     *      same items before.
+     */
+    private static Orientations orientationsOf(Item[] items, String letter){
+        int id = idOf(letter);
+        Orientations orientations = DEFINED[id];
+        if(orientations == null || !Arrays.equals(orientations.defined, items)){
+            orientations = new Orientations(items, letter);
+            DEFINED[id] = orientations;
+        }
+        return orientations;
+    }
+
+    /**
+     * Orientations holds the items and the text rows of a PlayerPiece in all four orientations, worked out once when
+     * the PlayerPiece is defined, so that rotating only changes the orientation used.
+     */
+    private static final class Orientations {
 
-        updateStringRepresentation();
+        /**
+         * Items held before any rotation, in the order of DIRECTIONS.
+         */
+        private final Item[] defined;
+
+        /**
+         * Items indexed by orientation and the ordinal of the Direction.
+         */
+        private final Item[][] items = new Item[4][4];
+
+        /**
+         * 3x3 String representation and its three lines, indexed by orientation.
+         */
+        private final String[][][] rows = new String[4][][];
+        private final String[][] lines = new String[4][];
+
+        /**
+         * @param items
+         *          Items held before any rotation, in the order of DIRECTIONS.
+         */
+        Orientations(Item[] items, String letter){
+            this.defined = items;
+            for(int orientation = 0; orientation < 4; orientation++){
+                for(int side = 0; side < 4; side++){
+                    // Turning the piece anticlockwise brings the item of the side before it round to this side,
+                    // and a sword on its side turns to point the other way.
+                    Item item = items[(side - orientation + 4) % 4];
+                    this.items[orientation][DIRECTIONS[side].ordinal()] =
+                            (orientation & 1) == 1 ? item.rotate() : item;
+                }
+
+                Item[] turned = this.items[orientation];
+                rows[orientation] = new String[][]{
+                        {" ", turned[UP.ordinal()].toString(), " "},
+                        {turned[LEFT.ordinal()].toString(), letter, turned[RIGHT.ordinal()].toString()},
+                        {" ", turned[DOWN.ordinal()].toString(), " "}
+                };
+                lines[orientation] = new String[3];
+                for(int line = 0; line < 3; line++){
+                    String[] row = rows[orientation][line];
+                    lines[orientation][line] = row[0] + row[1] + row[2];
+                }
+            }
+        }
     }
 
     /**
-     * Usually invoked after the PlayerPiece is rotated or created to update the String representation of the
-     * piece.
+     * Return the id of the PlayerPiece with the letter. Green pieces take ids 0 to 23 and yellow pieces take 24 to 47.
+     * @param letter
+     *          Letter of the PlayerPiece.
+     * @return
+     *          Id of the PlayerPiece.
      */
-    private void updateStringRepresentation(){
-        m_rep = new String[][]{
-                {" ", top.toString(), " "},
-                {left.toString(), letter, right.toString()},
-                {" ", bottom.toString(), " "}
-        };
+    public static int idOf(String letter){
+        char c = letter.charAt(0);
+        if(c >= 'A' && c < 'A' + PIECES / 2){
+            return c - 'A';
+        } else if(c >= 'a' && c < 'a' + PIECES / 2){
+            return PIECES / 2 + c - 'a';
+        }
+        throw new IllegalArgumentException("No such piece exists: " + letter);
+    }
+
+    /**
+     * Return the letter of the PlayerPiece with the id, the reverse of idOf.
+     * @param id
+     *          Id of the PlayerPiece.
+     * @return
+     *          Letter of the PlayerPiece.
+     */
+    public static String letterOf(int id){
+        return LETTERS[id];
     }
 
     /**
@@ -121,42 +235,41 @@ public class PlayerPiece extends Piece {
      */
     public void rotate(int rotation) {
         this.rotation = rotation;
-        Item temp_item;
         switch(rotation){
-
-            case 0:
-                break;
-
             case 90:
-                temp_item = top;
-                top = right.rotate();
-                right = bottom.rotate();
-                bottom = left.rotate();
-                left = temp_item.rotate();
-                updateStringRepresentation();
-                break;
-
             case 180:
-                temp_item = top;
-                top = bottom;
-                bottom = temp_item;
-                temp_item = right;
-                right = left;
-                left = temp_item;
-                updateStringRepresentation();
-                break;
-
             case 270:
-                temp_item = top;
-                top = left.rotate();
-                left = bottom.rotate();
-                bottom = right.rotate();
-                right = temp_item.rotate();
-                updateStringRepresentation();
+                setOrientation(orientation + rotation / 90);
                 break;
         }
     }
 
+    /**
+     * Set the number of anticlockwise quarter turns from the items the PlayerPiece was created with.
+     * @param orientation
+     *          Number of quarter turns. Only the lowest two bits are used.
+     */
+    public void setOrientation(int orientation){
+        this.orientation = orientation & 3;
+        this.m_rep = orientations.rows[this.orientation];
+    }
+
+    /**
+     * @return
+     *      Number of anticlockwise quarter turns from the items the PlayerPiece was created with, from 0 to 3.
+     */
+    public int getOrientation(){
+        return orientation;
+    }
+
+    /**
+     * @return
+     *      Id of the PlayerPiece, from 0 to PIECES - 1.
+     */
+    public int getId(){
+        return id;
+    }
+
     public String getLetter(){
         return letter;
     }
@@ -179,18 +292,27 @@ public class PlayerPiece extends Piece {
      * @return
      */
     public Item getItem(Direction direction){
-        switch(direction){
-            case UP:
-                return top;
-            case DOWN:
-                return bottom;
-            case LEFT:
-                return left;
-            case RIGHT:
-                return right;
-            default:
-                return null;
-        }
+        return orientations.items[orientation][direction.ordinal()];
+    }
+
+    @Override
+    public String topLine(){
+        return orientations.lines[orientation][0];
+    }
+
+    @Override
+    public String midLine(){
+        return orientations.lines[orientation][1];
+    }
+
+    @Override
+    public String bottomLine(){
+        return orientations.lines[orientation][2];
+    }
+
+    @Override
+    public void appendLine(int line, StringBuilder out){
+        out.append(orientations.lines[orientation][line]);
     }
 
     /**
@@ -225,129 +347,9 @@ public class PlayerPiece extends Piece {
 
     @Override
     public PlayerPiece clone() {
-        PlayerPiece clone = new PlayerPiece(top, left, bottom, right, letter);
+        PlayerPiece clone = new PlayerPiece(orientations, letter);
+        clone.setOrientation(orientation);
         clone.setPosition(position);
         return clone;
     }
-
-    @Override
-    public SquareButton createButton(Position position, SquareButton.Panel squareType) {
-        SquareButton squareButton = new SquareButton(this, position, squareType);
-        squareButton.setSize(new Dimension(50,50));
-        squareButton.setIcon(new PlayerIcon(this));
-        squareButton.setOpaque(false);
-        squareButton.setFocusable(false);
-        squareButton.setContentAreaFilled(false);
-        squareButton.setBorderPainted(false);
-        return squareButton;
-    }
-
-    /**
-     * PlayerIcon encapsulates all the drawing method of the PlayerPiece in one
-     * class. The Icon is to be used as the SquareButton icon.
-     */
-    class PlayerIcon implements Icon {
-
-        PlayerPiece playerPiece;
-
-        private final int WIDTH_THICKNESS;
-        private final int HEIGHT_THICKNESS;
-
-        PlayerIcon(PlayerPiece playerPiece){
-            WIDTH_THICKNESS = getIconWidth() / 6;
-            HEIGHT_THICKNESS = getIconHeight() / 6;
-            this.playerPiece = playerPiece;
-        }
-
-        @Override
-        public void paintIcon(Component c, Graphics g, int x, int y) {
-            Graphics2D g2d = (Graphics2D) g.create();
-
-            // Draw the player's main piece.
-            Color player = playerPiece.greenPlayer() ? Color.GREEN.darker() : Color.YELLOW;
-            g2d.setColor(player);
-            g2d.fillOval(0, 0, getIconWidth(), getIconHeight());
-
-            // Draw the PlayerPiece items.
-            g2d.setColor(Color.RED);
-            drawUp(playerPiece.getItem(Direction.UP), g2d);
-            drawLeft(playerPiece.getItem(Direction.LEFT), g2d);
-            drawDown(playerPiece.getItem(Direction.DOWN), g2d);
-            drawRight(playerPiece.getItem(Direction.RIGHT), g2d);
-            g2d.dispose();
-        }
-
-        private void drawUp(Item item, Graphics2D g2d) {
-            switch(item){
-                case SHIELD:
-                    g2d.fillRect(0,0, getIconWidth(), HEIGHT_THICKNESS);
-                    break;
-                case VERTICAL_SWORD:
-                    g2d.fillRect(getIconWidth()/2, 0, WIDTH_THICKNESS, getIconHeight()/2 + HEIGHT_THICKNESS);
-                    break;
-            }
-        }
-
-        private void drawLeft(Item item, Graphics2D g2d) {
-            switch(item){
-                case SHIELD:
-                    g2d.fillRect(0,0,WIDTH_THICKNESS, getIconHeight());
-                    break;
-                case HORIZONTAL_SWORD:
-                    g2d.fillRect(0,
-                            getIconHeight()/2,
-                            getIconWidth()/2 + WIDTH_THICKNESS,
-                            HEIGHT_THICKNESS);
-                    break;
-            }
-        }
-
-        private void drawDown(Item item, Graphics2D g2d) {
-            switch(item){
-                case SHIELD:
-                    g2d.fillRect(
-                            0,
-                            getIconHeight() - HEIGHT_THICKNESS,
-                            getIconWidth(),
-                            HEIGHT_THICKNESS);
-                    break;
-
-                case VERTICAL_SWORD:
-                    g2d.fillRect(
-                            getIconWidth()/2,
-                            getIconHeight()/2,
-                            WIDTH_THICKNESS,
-                            getIconHeight()/2 + HEIGHT_THICKNESS);
-                    break;
-            }
-        }
-
-        private void drawRight(Item item, Graphics2D g2d) {
-            switch(item){
-                case SHIELD:
-                    g2d.fillRect(getIconWidth() - WIDTH_THICKNESS,
-                            0,
-                            WIDTH_THICKNESS,
-                            getIconHeight());
-                    break;
-                case HORIZONTAL_SWORD:
-                    g2d.fillRect(getIconWidth()/2,
-                            getIconHeight()/2,
-                            getIconWidth()/2 + WIDTH_THICKNESS,
-                            HEIGHT_THICKNESS);
-                    break;
-            }
-        }
-
-        @Override
-        public int getIconWidth() {
-            return PrimaryView.getPreferredIconSize().width;
-        }
-
-        @Override
-        public int getIconHeight() {
-            return PrimaryView.getPreferredIconSize().height;
-        }
-    }
-
 }
@@ -11,11 +11,20 @@ import java.util.Arrays;
 
 public class GreenPlayer extends Player {
 
-    public static final Position CREATION_GRID = new Position(2,2);
+    public static final Position CREATION_GRID = Position.of(2,2);
 
     public GreenPlayer(Game game){
         super("Green", game);
-        List<PlayerPiece> pieces = new ArrayList<>(
+        hand = new Hand(startingPieces());
+    }
+
+    /**
+     * The PlayerPiece the player starts the game with, which is the one definition of the green pieces.
+     * @return
+     *      New PlayerPiece, in the order of their ids.
+     */
+    public static List<PlayerPiece> startingPieces(){
+        return new ArrayList<>(
                 Arrays.asList(
                         new PlayerPiece(PlayerPiece.Item.NO_ITEM, PlayerPiece.Item.NO_ITEM, PlayerPiece.Item.SHIELD, PlayerPiece.Item.NO_ITEM, "A"),
                         new PlayerPiece(PlayerPiece.Item.NO_ITEM, PlayerPiece.Item.NO_ITEM, PlayerPiece.Item.NO_ITEM, PlayerPiece.Item.NO_ITEM, "B"),
@@ -43,7 +52,6 @@ public class GreenPlayer extends Player {
                         new PlayerPiece(PlayerPiece.Item.VERTICAL_SWORD, PlayerPiece.Item.HORIZONTAL_SWORD, PlayerPiece.Item.NO_ITEM, PlayerPiece.Item.SHIELD, "X")
                 )
         );
-        hand = new Hand(pieces);
     }
 
     @Override
@@ -1,13 +1,13 @@
 package model.player;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
-import gui.drawers.SquareButton;
 import model.Position;
+import model.TextRenderer;
 import model.piece.BlankPiece;
-import model.piece.EmptyPiece;
 import model.piece.Piece;
 import model.piece.PlayerPiece;
 
@@ -28,22 +28,56 @@ public class Hand {
     private PlayerPiece selected;
 
     /**
-     * String representations for each lines for the hand.
+     * The selected PlayerPiece in all its orientations, made once when it is selected.
      */
-    private List<String> stringRepresentation;
+    private List<PlayerPiece> selectedInAllOrientations;
+
+    /**
+     * Renderer of the text of the hand, made when the text is first asked for. Clones make their own.
+     */
+    private TextRenderer renderer;
 
     public Hand(List<PlayerPiece> pieces){
         this.hand = pieces;
-        updateStringRepresentation();
     }
 
     /**
      * Remove the piece from hand.
      * @param piece
      *          PlayerPiece to remove.
+     * @return
+     *          true if the piece was in hand.
      */
-    public void remove(PlayerPiece piece){
-        hand.remove(piece);
+    public boolean remove(PlayerPiece piece){
+        return hand.remove(piece);
+    }
+
+    /**
+     * Return the piece to hand.
+     * @param piece
+     *          PlayerPiece to add.
+     */
+    public void add(PlayerPiece piece){
+        hand.add(piece);
+    }
+
+    /**
+     * @return
+     *          Number of PlayerPiece in the hand.
+     */
+    public int size(){
+        return hand.size();
+    }
+
+    /**
+     * Get the PlayerPiece at the index of the hand, so that the hand can be walked without an iterator.
+     * @param index
+     *          index of the PlayerPiece, from 0 to size() - 1.
+     * @return
+     *          The PlayerPiece at the index.
+     */
+    public PlayerPiece getPiece(int index){
+        return hand.get(index);
     }
 
     /**
@@ -73,68 +107,6 @@ public class Hand {
         return null;
     }
 
-    /**
-     * Update the String representation of the Player's hand by each line.
-     */
-    private void updateStringRepresentation(){
-        this.stringRepresentation = new ArrayList<>();
-        addBlankLines(6);
-        stringRepresentation.add(" ###### WARRIORS #####");
-        stringRepresentation.add(" # +---+---+---+---+ #");
-
-        int rows = 6;
-        int cols = 4;
-        Piece[][] pieces = new Piece[rows][cols];
-        int row = 0;
-        int col = 0;
-
-        for(int i = 0; i < rows; i++){
-            for(int j = 0; j < cols; j++){
-                pieces[i][j] = new EmptyPiece();
-            }
-        }
-
-        hand.sort(Comparator.comparing(PlayerPiece::getLetter));
-
-        for(int k = 0; k < hand.size(); k++){
-            pieces[row][col++] = hand.get(k);
-            if(col == cols){
-                col = 0;
-                row++;
-            }
-        }
-
-        String line1, line2, line3;
-
-        for(row = 0; row < pieces.length; row++){
-            line1 = " # |";
-            line2 = " # |";
-            line3 = " # |";
-            for(col = 0; col < pieces[0].length; col++){
-                Piece piece = pieces[row][col];
-                line1 += piece.topLine()    + "|";
-                line2 += piece.midLine()    + "|";
-                line3 += piece.bottomLine() + "|";
-            }
-            line1 += " #";
-            line2 += " #";
-            line3 += " #";
-            stringRepresentation.add(line1);
-            stringRepresentation.add(line2);
-            stringRepresentation.add(line3);
-            stringRepresentation.add(" # +---+---+---+---+ #");
-
-        }
-        stringRepresentation.add(" #####################");
-        addBlankLines(42);
-    }
-
-    public void addBlankLines(int num){
-        while(stringRepresentation.size() < num){
-            stringRepresentation.add("                      ");
-        }
-    }
-
     /**
      * Return a 6*4 representation of PlayerPiece in the player's hand.
      * @return
@@ -172,11 +144,7 @@ public class Hand {
      * @return
      */
     public String toString(){
-        String output = "";
-        for(String string : stringRepresentation){
-            output+= string + "\n";
-        }
-        return output;
+        return renderer().render(this).toString();
     }
 
     /**
@@ -187,8 +155,14 @@ public class Hand {
      *          String of the line number specified.
      */
     public String toLine(int num){
-        updateStringRepresentation();
-        return stringRepresentation.get(num);
+        return renderer().renderLine(this, num);
+    }
+
+    private TextRenderer renderer(){
+        if(renderer == null){
+            renderer = new TextRenderer();
+        }
+        return renderer;
     }
 
     /**
@@ -210,6 +184,7 @@ public class Hand {
      */
     public void setSelected(PlayerPiece p){
         this.selected = p;
+        this.selectedInAllOrientations = null;
     }
 
     /**
@@ -217,22 +192,16 @@ public class Hand {
      * @return
      */
     public List<PlayerPiece> getSelectedInAllOrientations(){
-        List<PlayerPiece> list = new ArrayList<>();
-        PlayerPiece clone_90 = selected.clone();
-        clone_90.rotate(90);
-
-        PlayerPiece clone_180 = selected.clone();
-        clone_180.rotate(180);
-
-        PlayerPiece clone_270 = selected.clone();
-        clone_270.rotate(270);
-
-        list.add(selected.clone());
-        list.add(clone_90);
-        list.add(clone_180);
-        list.add(clone_270);
-
-        return list;
+        if(selectedInAllOrientations == null){
+            List<PlayerPiece> list = new ArrayList<>();
+            for(int rotation = 0; rotation < 360; rotation += 90){
+                PlayerPiece clone = selected.clone();
+                clone.rotate(rotation);
+                list.add(clone);
+            }
+            selectedInAllOrientations = Collections.unmodifiableList(list);
+        }
+        return selectedInAllOrientations;
     }
 
     /**
@@ -246,8 +215,13 @@ public class Hand {
         return list.get(pos.getY());
     }
 
-    public Piece getPiece(SquareButton squareButton) {
-        Position position = squareButton.getPosition();
+    /**
+     * Return the Piece laid out at the position of the creation shelf.
+     * @param position
+     *          Position of the Piece in the panel.
+     * @return
+     */
+    public Piece getPiece(Position position) {
         Piece[][] array = getArrayRepresentation();
         return array[position.getX()][position.getY()];
     }
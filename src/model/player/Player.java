@@ -2,6 +2,7 @@ package model.player;
 
 import model.Game;
 import model.Position;
+import model.piece.PieceSet;
 import model.piece.PlayerPiece;
 
 import java.util.*;
@@ -46,9 +47,19 @@ public abstract class Player {
     public Hand hand;
 
     /**
-     * Player's PlayerPiece that are currently on the createBoard.
+     * Ids of the Player's PlayerPiece that are currently on the createBoard.
      */
-    public Set<PlayerPiece> piecesInBoard;
+    private long piecesInBoard;
+
+    /**
+     * PlayerPiece that have been on the createBoard, indexed by their id, to look them up from piecesInBoard.
+     */
+    private final PlayerPiece[] pieces;
+
+    /**
+     * Read-only view of the PlayerPiece on the createBoard.
+     */
+    private final Set<PlayerPiece> piecesInBoardView;
 
     private int playerMoves;
 
@@ -64,7 +75,8 @@ public abstract class Player {
 
     public Player(String playerName, Game game){
         this.playerName = playerName;
-        this.piecesInBoard = new HashSet<>();
+        this.pieces = new PlayerPiece[PlayerPiece.PIECES];
+        this.piecesInBoardView = new PieceSet(() -> piecesInBoard, id -> pieces[id]);
         this.game = game;
     }
 
@@ -88,35 +100,69 @@ public abstract class Player {
      * @return
      */
     public boolean validPiece(PlayerPiece piece){
-        return hand.contains(piece)|| piecesInBoard.contains(piece);
+        return hand.contains(piece)|| (piecesInBoard & 1L << piece.getId()) != 0;
     }
 
     /**
      * Returns all Player's PlayerPiece that are currently on the createBoard.
+     * The set is a live view rather than a copy, like Game.getFuture: it changes with the game, so copy it to keep
+     * the PlayerPiece of a given moment.
      * @return
+     *          Read-only view that follows the PlayerPiece as they come and go.
      */
     public Set<PlayerPiece> getAllPiecesInBoard(){
-        Set<PlayerPiece> set = new HashSet<>();
-        set.addAll(piecesInBoard);
-        return set;
+        return piecesInBoardView;
+    }
+
+    /**
+     * @return
+     *          Bitmask of the ids of the Player's PlayerPiece that are currently on the createBoard.
+     */
+    public long getPiecesInBoardMask(){
+        return piecesInBoard;
+    }
+
+    /**
+     * @param id
+     *          Id of a PlayerPiece of the Player that has been on the createBoard.
+     * @return
+     *          The PlayerPiece, or null if it has never been on the createBoard.
+     */
+    public PlayerPiece getPieceInBoard(int id){
+        return pieces[id];
     }
 
     /**
      * Update the piecesInBoard if the Player's PlayerPiece goes onto the createBoard.
      * @param piece
      *          Piece being added to createBoard.
+     * @return
+     *          true if the piece was not in piecesInBoard yet.
      */
-    public void addToPiecesInBoard(PlayerPiece piece){
-        piecesInBoard.add(piece);
+    public boolean addToPiecesInBoard(PlayerPiece piece){
+        long bit = 1L << piece.getId();
+        if((piecesInBoard & bit) != 0){
+            return false;
+        }
+        pieces[piece.getId()] = piece;
+        piecesInBoard |= bit;
+        return true;
     }
 
     /**
      * Update the piecesInBoard if the Player's PlayerPiece leaves the createBoard.
      * @param piece
      *          Piece being removed from createBoard.
+     * @return
+     *          true if the piece was in piecesInBoard.
      */
-    public void removeFromPiecesInBoard(PlayerPiece piece){
-        piecesInBoard.remove(piece);
+    public boolean removeFromPiecesInBoard(PlayerPiece piece){
+        long bit = 1L << piece.getId();
+        if((piecesInBoard & bit) == 0){
+            return false;
+        }
+        piecesInBoard &= ~bit;
+        return true;
     }
 
     /**
@@ -146,4 +192,13 @@ public abstract class Player {
         return undoMoves;
     }
 
+    /**
+     * Set the undoMoves, when a saved game is loaded.
+     * @param undoMoves
+     *          Number of times the player have undo.
+     */
+    public void setUndoMoves(int undoMoves){
+        this.undoMoves = undoMoves;
+    }
+
 }
@@ -13,11 +13,20 @@ import static model.piece.PlayerPiece.Item.*;
 
 public class YellowPlayer extends Player {
 
-    public static final Position CREATION_GRID = new Position(7,7);
+    public static final Position CREATION_GRID = Position.of(7,7);
 
     public YellowPlayer(Game game){
         super("Yellow", game);
-        List<PlayerPiece> pieces = new ArrayList<>(
+        hand = new Hand(startingPieces());
+    }
+
+    /**
+     * The PlayerPiece the player starts the game with, which is the one definition of the yellow pieces.
+     * @return
+     *      New PlayerPiece, in the order of their ids.
+     */
+    public static List<PlayerPiece> startingPieces(){
+        return new ArrayList<>(
                 Arrays.asList(
                         new PlayerPiece(NO_ITEM, NO_ITEM, SHIELD, NO_ITEM, "a"),
                         new PlayerPiece(NO_ITEM, NO_ITEM, NO_ITEM, NO_ITEM, "b"),
@@ -45,7 +54,6 @@ public class YellowPlayer extends Player {
                         new PlayerPiece(VERTICAL_SWORD, HORIZONTAL_SWORD, NO_ITEM, SHIELD, "x")
                 )
         );
-        hand = new Hand(pieces);
     }
 
     @Override
@@ -38,35 +38,148 @@ public class Reaction {
     }
 
     /**
-     * Check for the reactions between the two PlayerPiece on pieceOne direction and return the corresponding
-     * ReactionResult. Returns null if there are no reactions.
-     * @return
-     *      ReactionResult which stores what reaction has occured and on what piece.
+     * Outcome of a reaction between the item of pieceOne and the item of pieceTwo facing it.
+     *      - NO_REACTION: nothing happens.
+     *      - ELIMINATE_TWO / ELIMINATE_ONE / ELIMINATE_BOTH: the pieces land in the cemetery.
+     *      - PUSH_ONE: pieceOne is pushed back, away from pieceTwo.
+     *      - PUSH_TWO: pieceTwo is pushed back, away from pieceOne.
      */
-    public ReactionResult getReactionResult(){
-        Item pieceOneItem = pieceOne.getItem(direction);
-        Item pieceTwoItem = pieceTwo.getItem(direction.opposite());
+    public static final int NO_REACTION = 0;
+    public static final int ELIMINATE_TWO = 1;
+    public static final int ELIMINATE_ONE = 2;
+    public static final int ELIMINATE_BOTH = 3;
+    public static final int PUSH_ONE = 4;
+    public static final int PUSH_TWO = 5;
+
+    private static final int ITEMS = Item.values().length;
+
+    /**
+     * Outcome of every pair of items, indexed by the ordinal of the item of pieceOne * ITEMS + the ordinal of the
+     * item of pieceTwo.
+     */
+    private static final byte[] OUTCOMES = new byte[ITEMS * ITEMS];
+
+    static {
+        for(Item one : Item.values()){
+            for(Item two : Item.values()){
+                OUTCOMES[one.ordinal() * ITEMS + two.ordinal()] = (byte) decide(one, two);
+            }
+        }
+    }
 
+    /**
+     * Decide the outcome of the items of the two PlayerPiece facing each other.
+     */
+    private static int decide(Item pieceOneItem, Item pieceTwoItem){
         // Sword against nothing case.
         if(pieceOneItem.isSword() && pieceTwoItem.isNothing()){
-            return new EliminateResult(Arrays.asList(pieceTwo));
+            return ELIMINATE_TWO;
         } else if(pieceTwoItem.isSword() && pieceOneItem.isNothing()){
-            return new EliminateResult(Arrays.asList(pieceOne));
+            return ELIMINATE_ONE;
         }
 
         // Sword against sword case.
         if(pieceOneItem.isSword() && pieceTwoItem.isSword()){
-            return new EliminateResult(Arrays.asList(pieceOne,pieceTwo));
+            return ELIMINATE_BOTH;
         }
 
         // Sword against shield case.
         if(pieceOneItem.isSword() && pieceTwoItem.isShield()){
-            return new PushedResult(pieceOne, direction.opposite());
+            return PUSH_ONE;
         } else if(pieceTwoItem.isSword() && pieceOneItem.isShield()){
-            return new PushedResult(pieceTwo, direction);
+            return PUSH_TWO;
         }
 
-        return null;
+        return NO_REACTION;
+    }
+
+    /**
+     * @param pieceOneItem
+     *          Ordinal of the Item of pieceOne.
+     * @param pieceTwoItem
+     *          Ordinal of the Item of pieceTwo, facing the item of pieceOne.
+     * @return
+     *          Outcome of the reaction between the items.
+     */
+    public static int outcome(int pieceOneItem, int pieceTwoItem){
+        return OUTCOMES[pieceOneItem * ITEMS + pieceTwoItem];
+    }
+
+    /**
+     * Check for the reactions between the two PlayerPiece on pieceOne direction and return the corresponding
+     * ReactionResult. Returns null if there are no reactions.
+     * @return
+     *      ReactionResult which stores what reaction has occured and on what piece.
+     */
+    public ReactionResult getReactionResult(){
+        switch(outcome(pieceOne.getItem(direction).ordinal(), pieceTwo.getItem(direction.opposite()).ordinal())){
+            case ELIMINATE_TWO:
+                return new EliminateResult(Arrays.asList(pieceTwo));
+            case ELIMINATE_ONE:
+                return new EliminateResult(Arrays.asList(pieceOne));
+            case ELIMINATE_BOTH:
+                return new EliminateResult(Arrays.asList(pieceOne,pieceTwo));
+            case PUSH_ONE:
+                return new PushedResult(pieceOne, direction.opposite());
+            case PUSH_TWO:
+                return new PushedResult(pieceTwo, direction);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Resolve the reaction between the two PlayerPiece on pieceOne direction into the buffer, without allocating.
+     * @param pieceOne
+     *          PlayerPiece whose neighbors are checked.
+     * @param pieceTwo
+     *          PlayerPiece next to pieceOne in the direction.
+     * @param direction
+     *          Direction of pieceTwo from pieceOne.
+     * @param buffer
+     *          Buffer to write the outcome to.
+     * @return
+     *          false if there is no reaction.
+     */
+    public static boolean resolve(PlayerPiece pieceOne, PlayerPiece pieceTwo, Direction direction,
+                                  ReactionBuffer buffer){
+        buffer.clear();
+        switch(outcome(pieceOne.getItem(direction).ordinal(), pieceTwo.getItem(direction.opposite()).ordinal())){
+            case ELIMINATE_TWO:
+                buffer.eliminate(pieceTwo);
+                return true;
+            case ELIMINATE_ONE:
+                buffer.eliminate(pieceOne);
+                return true;
+            case ELIMINATE_BOTH:
+                buffer.eliminate(pieceOne);
+                buffer.eliminate(pieceTwo);
+                return true;
+            case PUSH_ONE:
+                buffer.push(pieceOne, direction.opposite());
+                return true;
+            case PUSH_TWO:
+                buffer.push(pieceTwo, direction);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Resolve the reaction between the PlayerPiece and the FacePiece on pieceOne direction into the buffer, without
+     * allocating.
+     * @return
+     *          false if the PlayerPiece does not win the game.
+     */
+    public static boolean resolve(PlayerPiece pieceOne, FacePiece facePiece, Direction direction,
+                                  ReactionBuffer buffer){
+        buffer.clear();
+        if(pieceOne.getItem(direction).isSword() && pieceOne.greenPlayer() != facePiece.greenPlayer()){
+            buffer.win(pieceOne);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -0,0 +1,85 @@
+package model.reaction;
+
+import model.piece.PlayerPiece;
+import model.player.Player.Direction;
+
+/**
+ * ReactionBuffer holds the outcome of the last reaction resolved into it by Reaction.resolve, so that reactions can be
+ * resolved over and over without allocating a ReactionResult each time. The buffer is overwritten by the next
+ * resolve, so the outcome must be read before executing a reaction that may resolve further reactions.
+ */
+public final class ReactionBuffer {
+
+    /**
+     * Kind of outcome of a reaction.
+     *      - NONE: nothing happens.
+     *      - ELIMINATE: the pieces land in the cemetery.
+     *      - PUSH: the piece is pushed in the direction.
+     *      - WIN: the piece has won the game for its owner.
+     */
+    public static final int NONE = 0;
+    public static final int ELIMINATE = 1;
+    public static final int PUSH = 2;
+    public static final int WIN = 3;
+
+    private int kind;
+    private final PlayerPiece[] pieces = new PlayerPiece[2];
+    private int count;
+    private Direction direction;
+
+    void clear(){
+        kind = NONE;
+        count = 0;
+        pieces[0] = null;
+        pieces[1] = null;
+        direction = null;
+    }
+
+    void eliminate(PlayerPiece piece){
+        kind = ELIMINATE;
+        pieces[count++] = piece;
+    }
+
+    void push(PlayerPiece piece, Direction direction){
+        kind = PUSH;
+        pieces[0] = piece;
+        count = 1;
+        this.direction = direction;
+    }
+
+    void win(PlayerPiece piece){
+        kind = WIN;
+        pieces[0] = piece;
+        count = 1;
+    }
+
+    public int getKind(){
+        return kind;
+    }
+
+    /**
+     * @return
+     *      Number of PlayerPiece the outcome applies to.
+     */
+    public int getCount(){
+        return count;
+    }
+
+    /**
+     * @param index
+     *          Index of the PlayerPiece, below getCount.
+     * @return
+     *          PlayerPiece eliminated, pushed or winning.
+     */
+    public PlayerPiece getPiece(int index){
+        return pieces[index];
+    }
+
+    /**
+     * @return
+     *      Direction the PlayerPiece is pushed in.
+     */
+    public Direction getDirection(){
+        return direction;
+    }
+}
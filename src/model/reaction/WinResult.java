@@ -21,6 +21,6 @@ public class WinResult implements ReactionResult {
      */
     @Override
     public void execute(Game game) {
-        game.playerHasWon();
+        game.playerHasWon(winningPiece);
     }
 }
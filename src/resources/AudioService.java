@@ -0,0 +1,207 @@
+package resources;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AudioService plays the sounds of the game. Each sound is decoded from its WAV file once, and played from a small
+ * pool of Clips opened once and reused, so that the same sound can overlap itself without a line being opened or
+ * leaked per beep. Everything is done on a background thread, so the GUI never waits for the audio system.
+ *
+ * If there is no audio device, the sounds are silently skipped after the problem has been reported once. The
+ * Clips are closed when the service is closed, or when the JVM exits.
+ */
+public final class AudioService {
+
+    /**
+     * Number of Clips per sound, which is how many times a sound can overlap itself. A sound played while all of
+     * its Clips are busy restarts one of them, each in turn.
+     */
+    private static final int CLIPS_PER_SOUND = 3;
+
+    /**
+     * Decoded sound and its Clips, which are opened as they are first needed.
+     */
+    private static final class Pool {
+
+        private final AudioFormat format;
+        private final byte[] data;
+        private final Clip[] clips = new Clip[CLIPS_PER_SOUND];
+        private int next;
+
+        Pool(AudioFormat format, byte[] data){
+            this.format = format;
+            this.data = data;
+        }
+    }
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "AudioService");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Pools of the sounds decoded so far. Only used from the thread of the executor.
+     */
+    private static final Map<SoundResources.Sound, Pool> pools = new EnumMap<>(SoundResources.Sound.class);
+
+    /**
+     * Set once the audio system has failed, after which no sound is played.
+     */
+    private static volatile boolean unavailable;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AudioService::close));
+    }
+
+    private AudioService(){
+    }
+
+    /**
+     * Decode every sound and open a Clip for each in the background, so that the first time a sound is played it
+     * starts at once.
+     */
+    public static void preload(){
+        submit(() -> {
+            for(SoundResources.Sound sound : SoundResources.Sound.values()){
+                Pool pool = pool(sound);
+                if(pool != null && pool.clips[0] == null){
+                    pool.clips[0] = open(pool);
+                }
+            }
+        });
+    }
+
+    /**
+     * Play a sound in the background.
+     * @param sound
+     *          Sound to play.
+     */
+    public static void play(SoundResources.Sound sound){
+        submit(() -> {
+            Pool pool = pool(sound);
+            if(pool == null){
+                return;
+            }
+            Clip clip = idleClip(pool);
+            if(clip != null){
+                clip.stop();
+                clip.setFramePosition(0);
+                clip.start();
+            }
+        });
+    }
+
+    /**
+     * Stop and close every Clip, and stop the background thread.
+     */
+    public static void close(){
+        try {
+            executor.submit(() -> {
+                for(Pool pool : pools.values()){
+                    for(Clip clip : pool.clips){
+                        if(clip != null){
+                            clip.close();
+                        }
+                    }
+                }
+                pools.clear();
+            });
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            // Already closed.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void submit(Runnable task){
+        if(unavailable){
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Closed while the game was still running.
+        }
+    }
+
+    /**
+     * @return
+     *      Clip of the pool that is not playing, opening another one if there is room for it, or the next Clip in
+     *      turn if they are all playing. null if the audio system cannot open a Clip.
+     */
+    private static Clip idleClip(Pool pool){
+        for(int i = 0; i < pool.clips.length; i++){
+            if(pool.clips[i] == null){
+                pool.clips[i] = open(pool);
+                return pool.clips[i];
+            }
+            if(!pool.clips[i].isRunning()){
+                return pool.clips[i];
+            }
+        }
+        Clip clip = pool.clips[pool.next];
+        pool.next = (pool.next + 1) % pool.clips.length;
+        return clip;
+    }
+
+    /**
+     * @return
+     *      Pool of the sound, decoding the sound the first time, or null if it cannot be decoded.
+     */
+    private static Pool pool(SoundResources.Sound sound){
+        Pool pool = pools.get(sound);
+        if(pool == null){
+            URL url = SoundResources.class.getResource(sound.toString());
+            try (AudioInputStream audioIn = AudioSystem.getAudioInputStream(url)) {
+                pool = new Pool(audioIn.getFormat(), readAll(audioIn));
+                pools.put(sound, pool);
+            } catch (UnsupportedAudioFileException | IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * @return
+     *      New Clip holding the sound of the pool, or null if the audio system cannot play it.
+     */
+    private static Clip open(Pool pool){
+        if(unavailable){
+            return null;
+        }
+        try {
+            Clip clip = AudioSystem.getClip();
+            clip.open(pool.format, pool.data, 0, pool.data.length);
+            return clip;
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            // No line or no device: keep the game going without sound.
+            unavailable = true;
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while((read = in.read(buffer)) != -1){
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,9 +1,5 @@
 package resources;
 
-import javax.sound.sampled.*;
-import java.io.IOException;
-import java.net.URL;
-
 public class SoundResources{
     public enum Sound{
         WARNING("warning_beep.wav"),
@@ -22,22 +18,12 @@ public class SoundResources{
         }
     }
 
-    private Clip clip;
-
+    /**
+     * Play a sound through the AudioService, which decodes it once and plays it from a pool of reusable Clips.
+     * @param sound
+     *          Sound to play.
+     */
     public SoundResources(Sound sound){
-        try {
-            URL url = SoundResources.class.getResource(sound.toString());
-            AudioInputStream audioIn = AudioSystem.getAudioInputStream(url);
-            this.clip = AudioSystem.getClip();
-            this.clip.open(audioIn);
-            this.clip.start();
-        } catch (UnsupportedAudioFileException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }catch (LineUnavailableException e) {
-            e.printStackTrace();
-        }
+        AudioService.play(sound);
     }
 }
-
@@ -9,7 +9,7 @@ import org.junit.runners.Suite.SuiteClasses;
  */
 
 @RunWith(Suite.class)
-@SuiteClasses({BoardTest.class, GameTest.class, PieceTest.class})
+@SuiteClasses({BoardTest.class, GameTest.class, PieceTest.class, TournamentTest.class, BotTest.class})
 public class AllTests {
 
 }
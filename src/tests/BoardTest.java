@@ -2,14 +2,24 @@ package tests;
 
 import model.Board;
 import model.Position;
+import model.TextRenderer;
+import model.piece.EmptyPiece;
 import model.piece.PlayerPiece;
+import model.player.Hand;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static model.piece.PlayerPiece.Item.HORIZONTAL_SWORD;
 import static model.piece.PlayerPiece.Item.NO_ITEM;
 import static model.piece.PlayerPiece.Item.SHIELD;
 import static model.piece.PlayerPiece.Item.VERTICAL_SWORD;
+import static model.player.Player.Direction.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 public class BoardTest {
 
@@ -160,10 +170,118 @@ public class BoardTest {
 
         Board original = new Board();
         Board clone = original.clone();
-        clone.setSquare(new Position(5,5), new PlayerPiece(VERTICAL_SWORD, HORIZONTAL_SWORD, NO_ITEM, SHIELD, "X"));
+        clone.setSquare(Position.of(5,5), new PlayerPiece(VERTICAL_SWORD, HORIZONTAL_SWORD, NO_ITEM, SHIELD, "X"));
 
         // Changes to the clone createBoard should not change the original createBoard.
         assertEquals(original_output, original.toString());
         assertEquals(clone_output, clone.toString());
     }
+
+    /**
+     * Test if reading a createBoard leaves its PlayerPiece as they are, and if a clone moves and rotates its own copies
+     * of them.
+     */
+    @Test
+    public void test_CloneCopiesPieces(){
+        Board original = new Board();
+        PlayerPiece piece = new PlayerPiece(VERTICAL_SWORD, HORIZONTAL_SWORD, NO_ITEM, SHIELD, "X");
+        original.setSquare(Position.of(5,5), piece);
+        assertSame(piece, original.getSquare(Position.of(5,5)));
+        assertSame(Position.of(5,5), piece.getPosition());
+
+        Board clone = original.clone();
+        PlayerPiece cloned = clone.findPiece("X");
+        assertNotSame(piece, cloned);
+        cloned.setOrientation(1);
+        clone.setSquare(Position.of(6,5), cloned);
+        clone.setSquare(Position.of(5,5), null);
+
+        assertEquals(0, piece.getOrientation());
+        assertSame(Position.of(5,5), piece.getPosition());
+        assertSame(piece, original.getSquare(Position.of(5,5)));
+        assertSame(Position.of(6,5), clone.findPiece("X").getPosition());
+        assertEquals(1, clone.findPiece("X").getOrientation());
+    }
+
+    /**
+     * Test if positions are shared and their neighbors are looked up without leaving the board.
+     */
+    @Test
+    public void test_SharedPositions(){
+        assertSame(Position.of(3, 4), Position.of(3, 4));
+        assertSame(Position.of(3, 4), Position.at(34));
+        assertSame(Position.of(2, 4), Position.of(3, 4).moveBy(UP));
+        assertSame(Position.of(9, 10), Position.of(9, 9).moveBy(RIGHT));
+
+        assertEquals(35, Position.neighbor(34, RIGHT));
+        assertEquals(44, Position.neighbor(34, DOWN));
+        assertEquals(Position.OUTSIDE, Position.neighbor(9, UP));
+        assertEquals(Position.OUTSIDE, Position.neighbor(90, LEFT));
+        assertEquals(Position.OUTSIDE, Position.neighbor(99, RIGHT));
+    }
+
+    /**
+     * Test if a PlayerPiece is found by its letter wherever it is moved to.
+     */
+    @Test
+    public void test_FindPiece(){
+        Board board = new Board();
+        PlayerPiece piece = new PlayerPiece(VERTICAL_SWORD, HORIZONTAL_SWORD, NO_ITEM, SHIELD, "X");
+        board.setSquare(Position.of(5, 5), piece);
+        assertSame(Position.of(5, 5), board.findPiece("X").getPosition());
+
+        // Moving a piece sets its new square before emptying the old one.
+        board.setSquare(Position.of(5, 6), piece);
+        board.setSquare(Position.of(5, 5), new EmptyPiece());
+        assertSame(Position.of(5, 6), board.findPiece("X").getPosition());
+
+        int[] cells = new int[PlayerPiece.PIECES];
+        assertEquals(1, board.getPieceCells(cells));
+        assertEquals(56, cells[0]);
+
+        board.setSquare(Position.of(5, 6), new EmptyPiece());
+        assertNull(board.findPiece("X"));
+        assertEquals(0, board.getPieceCells(cells));
+    }
+
+    /**
+     * Test if the text of the createBoard and of a hand is rendered again only once their state has changed.
+     */
+    @Test
+    public void test_TextRenderer(){
+        Board board = new Board();
+        TextRenderer renderer = new TextRenderer();
+        String empty = board.toString();
+        CharSequence text = renderer.render(board);
+        assertEquals(empty, text.toString());
+        assertSame(text, renderer.render(board));
+
+        StringBuilder lines = new StringBuilder();
+        for(int line = 0; line < 42; line++){
+            lines.append(board.toLine(line)).append("\n");
+        }
+        assertEquals(empty, lines.toString());
+
+        PlayerPiece piece = new PlayerPiece(VERTICAL_SWORD, HORIZONTAL_SWORD, NO_ITEM, SHIELD, "X");
+        board.setSquare(Position.of(5, 5), piece);
+        assertEquals("   |   |   |   |   |   |   |   |   |   |   |", empty.split("\n")[22]);
+        assertEquals("   |   |   |   |   |   | | |   |   |   |   |", board.toLine(22));
+        assertEquals(board.clone().toString(), renderer.render(board).toString());
+
+        board.setSquare(Position.of(5, 5), new EmptyPiece());
+        assertEquals(empty, board.toString());
+        assertEquals(empty, renderer.render(board).toString());
+
+        List<PlayerPiece> pieces = new ArrayList<>();
+        pieces.add(piece);
+        Hand hand = new Hand(pieces);
+        String before = hand.toString();
+        assertEquals(42, before.split("\n").length);
+        assertEquals(" # | | |   |   |   | #", hand.toLine(8));
+
+        hand.remove(piece);
+        assertEquals(" # |   |   |   |   | #", hand.toLine(8));
+        hand.add(piece);
+        assertEquals(before, hand.toString());
+    }
 }
@@ -0,0 +1,172 @@
+package tests;
+
+import model.Action;
+import model.Board;
+import model.Game;
+import model.bot.AlphaBetaBot;
+import model.bot.MctsBot;
+import model.bot.Perft;
+import model.player.Player.Direction;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static model.player.Player.Direction.*;
+import static org.junit.Assert.*;
+
+public class BotTest {
+
+    /**
+     * Test if searching leaves the game exactly as it was.
+     */
+    @Test
+    public void test_AlphaBeta_RestoresGame(){
+        Board board = new Board();
+        Game game = new Game(board);
+        game.createPiece("L", 0);
+        game.movePiece("L", DOWN, true);
+        game.pass();
+        game.createPiece("l", 0);
+        game.pass();
+        game.pass();
+
+        String before = board.toString();
+        Game.Phase phase = game.getGamePhase();
+        long hash = game.getZobristHash();
+        int[] actions = new int[Action.MAX_ACTIONS];
+        int count = game.generateActions(actions);
+        new AlphaBetaBot(2, 5000, 12).chooseAction(game, actions, count, new Random(1));
+
+        assertEquals(before, board.toString());
+        assertEquals(hash, game.getZobristHash());
+        assertEquals(phase, game.getGamePhase());
+        assertTrue(game.getCurrentPlayer().isGreen());
+    }
+
+    /**
+     * Test if the search finds a winning rotation and plays towards it.
+     */
+    @Test
+    public void test_AlphaBeta_FindsWin(){
+        Game game = new Game(new Board());
+
+        // Green walks J from its creation grid to the left of the yellow FacePiece, while yellow passes.
+        game.createPiece("J", 0);
+        Direction[] path = {DOWN, DOWN, DOWN, DOWN, DOWN, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT};
+        for(int i = 0; i < path.length; i++){
+            if(i > 0){
+                game.pass();
+            }
+            game.movePiece("J", path[i], true);
+            game.pass();
+            game.pass();
+            game.pass();
+        }
+        assertEquals(7, game.getBoard().findPiece("J").getPosition().getX());
+        assertEquals(8, game.getBoard().findPiece("J").getPosition().getY());
+
+        AlphaBetaBot bot = new AlphaBetaBot(1, 100000, 16);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        Random random = new Random(1);
+        for(int i = 0; i < 10 && !game.gameOver(); i++){
+            int count = game.generateActions(actions);
+            assertTrue(game.play(bot.chooseAction(game, actions, count, random)));
+        }
+        assertTrue(game.gameOver());
+        assertTrue(game.getWinner().isGreen());
+        assertTrue(bot.getNodes() > 0);
+    }
+
+    /**
+     * Test if searching with several threads chooses one of the given actions and leaves the game as it was.
+     */
+    @Test
+    public void test_Mcts_RestoresGame(){
+        Game game = new Game(new Board());
+        game.createPiece("L", 0);
+        game.movePiece("L", DOWN, true);
+        game.pass();
+        game.pass();
+        game.pass();
+
+        long hash = game.getZobristHash();
+        int[] actions = new int[Action.MAX_ACTIONS];
+        int count = game.generateActions(actions);
+        MctsBot bot = new MctsBot(0, 2000, 4);
+        int action = bot.chooseAction(game, actions, count, new Random(1));
+        bot.shutdown();
+
+        boolean given = false;
+        for(int i = 0; i < count; i++){
+            given |= actions[i] == action;
+        }
+        assertTrue(given);
+        assertEquals(hash, game.getZobristHash());
+        assertEquals(2000, bot.getPlayouts());
+    }
+
+    /**
+     * Test if the search finds the rotation winning the game.
+     */
+    @Test
+    public void test_Mcts_FindsWin(){
+        Game game = new Game(new Board());
+        game.createPiece("J", 0);
+        Direction[] path = {DOWN, DOWN, DOWN, DOWN, DOWN, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT};
+        for(int i = 0; i < path.length; i++){
+            if(i > 0){
+                game.pass();
+            }
+            game.movePiece("J", path[i], true);
+            game.pass();
+            game.pass();
+            game.pass();
+        }
+
+        MctsBot bot = new MctsBot(0, 3000, 1);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        Random random = new Random(1);
+        for(int i = 0; i < 10 && !game.gameOver(); i++){
+            int count = game.generateActions(actions);
+            assertTrue(game.play(bot.chooseAction(game, actions, count, random)));
+        }
+        assertTrue(game.gameOver());
+        assertTrue(game.getWinner().isGreen());
+    }
+
+    /**
+     * Test if perft counts the known number of states from the initial createBoard, and if the parallel walk counts
+     * the same as the single-threaded one, leaving the game as it was.
+     */
+    @Test
+    public void test_Perft(){
+        Perft.Counts initial = new Perft(Perft.Mode.ACTIONS).run(new Game(new Board()), 2);
+        assertEquals(97, initial.getNodes(1));
+        assertEquals(96, initial.getCreates(1));
+        assertEquals(769, initial.getNodes(2));
+        assertEquals(769, new Perft(Perft.Mode.TURNS).run(new Game(new Board()), 1).getNodes(1));
+
+        Game game = new Game(new Board());
+        Random random = new Random(3);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        while(game.getMoves() < 30 && !game.gameOver()){
+            game.play(GameTest.randomAction(game, actions, random));
+        }
+        long hash = game.getZobristHash();
+
+        Perft perft = new Perft(Perft.Mode.ACTIONS);
+        Perft.Counts single = perft.run(game, 3);
+        assertEquals(hash, game.getZobristHash());
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Perft.Counts parallel = perft.run(game, 3, pool);
+        pool.shutdown();
+        for(int level = 1; level <= 3; level++){
+            assertEquals(single.getNodes(level), parallel.getNodes(level));
+            assertEquals(single.getPushes(level), parallel.getPushes(level));
+            assertEquals(single.getEliminations(level), parallel.getEliminations(level));
+            assertEquals(single.getRejected(level), parallel.getRejected(level));
+        }
+        assertEquals(hash, game.getZobristHash());
+    }
+}
@@ -1,13 +1,30 @@
 package tests;
 
+import model.Action;
 import model.Board;
+import model.Cemetery;
+import model.CompactGame;
 import model.Game;
+import model.GameSnapshot;
+import model.GameState;
+import model.MoveRecorder;
+import model.MoveReplayer;
 import model.Position;
+import model.piece.BlankPiece;
 import model.piece.PlayerPiece;
 import model.player.GreenPlayer;
 import model.player.Player;
+import model.player.YellowPlayer;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 import static model.player.Player.Direction.*;
 import static org.junit.Assert.*;
 
@@ -494,4 +511,603 @@ public class GameTest {
         assertTrue(game.getBoard().findPiece("S") == null);
         assertTrue(game.getBoard().findPiece("T") == null);
     }
+
+    /**
+     * Put a PlayerPiece of the player's hand straight onto the createBoard, without any reaction.
+     */
+    private static PlayerPiece place(Game game, Player player, String letter, int rotation, Position position){
+        PlayerPiece piece = player.hand.getPiece(letter);
+        player.hand.remove(piece);
+        piece.rotate(rotation);
+        piece.setPosition(position);
+        player.addToPiecesInBoard(piece);
+        game.getBoard().setSquare(position, piece);
+        return piece;
+    }
+
+    /**
+     * Only the dominant piece of a move has to belong to the player. The neighbors it pushes may be the opponent's,
+     * while the opponent's pieces still cannot be moved themselves.
+     */
+    @Test
+    public void testRule_PushOpponentPiece(){
+        Game game = new Game(new Board());
+        place(game, game.getGreenPlayer(), "B", 0, Position.of(4,4));
+        place(game, game.getYellowPlayer(), "b", 0, Position.of(4,5));
+        game.pass();
+
+        try {
+            game.movePiece("b", LEFT, true);
+            fail("An exception have to be thrown for attempt to move the opponent's piece");
+        } catch (IllegalArgumentException e){
+
+        }
+
+        game.movePiece("B", RIGHT, true);
+        assertEquals(Position.of(4,5), game.getBoard().findPiece("B").getPosition());
+        assertEquals(Position.of(4,6), game.getBoard().findPiece("b").getPosition());
+    }
+
+    /**
+     * A piece of the opponent that is eliminated or pushed out of the createBoard leaves the pieces on the createBoard of
+     * the opponent, not those of the current player.
+     */
+    @Test
+    public void testRule_OpponentPieceLeavesItsOwner(){
+        Game game = new Game(new Board());
+        Player green = game.getGreenPlayer();
+        Player yellow = game.getYellowPlayer();
+        PlayerPiece piece_F = place(game, green, "F", 0, Position.of(4,4));
+        PlayerPiece piece_B = place(game, green, "B", 0, Position.of(6,8));
+        PlayerPiece piece_b = place(game, yellow, "b", 0, Position.of(4,6));
+        PlayerPiece piece_c = place(game, yellow, "c", 0, Position.of(6,9));
+        game.pass();
+
+        // The sword of F eliminates b, then B pushes c out of the createBoard.
+        game.movePiece("F", RIGHT, true);
+        game.movePiece("B", RIGHT, true);
+        assertTrue(game.getCemetery().contains(piece_b));
+        assertTrue(game.getCemetery().contains(piece_c));
+        assertTrue(yellow.getAllPiecesInBoard().isEmpty());
+        assertTrue(green.getAllPiecesInBoard().contains(piece_F));
+        assertTrue(green.getAllPiecesInBoard().contains(piece_B));
+
+        game.undo();
+        game.undo();
+        assertTrue(yellow.getAllPiecesInBoard().contains(piece_b));
+        assertTrue(yellow.getAllPiecesInBoard().contains(piece_c));
+        assertEquals(2, green.getAllPiecesInBoard().size());
+    }
+
+    /**
+     * A move shifts the whole line of pushed pieces before any reaction, then checks for reactions from the front of
+     * the line back to the dominant piece. A pushed piece that bounces back pushes the dominant piece back with it.
+     */
+    @Test
+    public void testRule_ShiftLineBeforeReactions(){
+        Game game = new Game(new Board());
+        place(game, game.getGreenPlayer(), "B", 0, Position.of(4,3));
+        place(game, game.getGreenPlayer(), "R", 0, Position.of(4,4));
+        place(game, game.getYellowPlayer(), "g", 0, Position.of(4,6));
+        game.pass();
+
+        // B pushes R next to g, and the sword of R bounces off the shield of g.
+        game.movePiece("B", RIGHT, true);
+        assertEquals(Position.of(4,3), game.getBoard().findPiece("B").getPosition());
+        assertEquals(Position.of(4,4), game.getBoard().findPiece("R").getPosition());
+        assertEquals(Position.of(4,6), game.getBoard().findPiece("g").getPosition());
+        assertEquals(2, game.getGreenPlayer().getAllPiecesInBoard().size());
+    }
+
+    /**
+     * The reactions around a piece are checked one direction at a time against the createBoard as the reactions before
+     * have left it. A piece pushed away by its first reaction no longer reacts with its old neighbors.
+     */
+    @Test
+    public void testRule_ReactionsAgainstCurrentBoard(){
+        Game game = new Game(new Board());
+        place(game, game.getGreenPlayer(), "K", 0, Position.of(5,4));
+        place(game, game.getYellowPlayer(), "g", 0, Position.of(3,4));
+        PlayerPiece piece_b = place(game, game.getYellowPlayer(), "b", 0, Position.of(4,3));
+        game.pass();
+
+        // The top sword of K bounces off the shield of g before its left sword ever faces b.
+        game.movePiece("K", UP, true);
+        assertEquals(Position.of(5,4), game.getBoard().findPiece("K").getPosition());
+        assertEquals(Position.of(4,3), game.getBoard().findPiece("b").getPosition());
+        assertFalse(game.getCemetery().contains(piece_b));
+    }
+
+    /**
+     * A piece with swords on both sides moved between two shields would bounce between them forever. The move is
+     * rejected and leaves the game as it was.
+     */
+    @Test
+    public void testRule_ReactionsNeverSettle(){
+        Game game = new Game(new Board());
+        PlayerPiece piece_S = place(game, game.getGreenPlayer(), "S", 0, Position.of(3,4));
+        place(game, game.getYellowPlayer(), "g", 0, Position.of(4,3));
+        place(game, game.getYellowPlayer(), "e", 0, Position.of(4,6));
+        game.pass();
+
+        String board = game.getBoard().toString();
+        long hash = game.getZobristHash();
+        try {
+            game.movePiece("S", DOWN, true);
+            fail("An exception have to be thrown for a move whose reactions never settle");
+        } catch (IllegalArgumentException e){
+
+        }
+        assertEquals(board, game.getBoard().toString());
+        assertEquals(hash, game.getZobristHash());
+        assertTrue(game.getFuture().contains(piece_S));
+
+        // Bots and generated actions are told by the status instead.
+        int action = Action.move(piece_S.getId(), DOWN);
+        assertFalse(game.apply(action));
+        assertFalse(game.play(action));
+        assertFalse(new CompactGame(game).apply(action));
+        assertEquals(board, game.getBoard().toString());
+        assertEquals(hash, game.getZobristHash());
+        assertTrue(game.getFuture().contains(piece_S));
+    }
+
+    /**
+     * A sword reaching the FacePiece of the opponent wins the game for the owner of the sword, even when the sword was
+     * pushed there by the opponent.
+     */
+    @Test
+    public void testRule_WinnerOwnsTheWinningPiece(){
+        Game game = new Game(new Board());
+        place(game, game.getGreenPlayer(), "R", 0, Position.of(8,6));
+        place(game, game.getYellowPlayer(), "b", 0, Position.of(8,5));
+        game.pass();
+        game.pass();
+        game.pass();
+        assertFalse(game.getCurrentPlayer().isGreen());
+
+        // Yellow pushes the right sword of R against the yellow FacePiece.
+        game.movePiece("b", RIGHT, true);
+        assertEquals(Position.of(8,7), game.getBoard().findPiece("R").getPosition());
+        assertTrue(game.gameOver());
+        assertTrue(game.getWinner().isGreen());
+    }
+
+    /**
+     * Test if the Zobrist hash changes with the game and is restored by undo.
+     */
+    @Test
+    public void test_ZobristHash_Undo(){
+        Board board = new Board();
+        Game game = new Game(board);
+        Player greenPlayer = new GreenPlayer(game);
+
+        game.setCurrentPlayer(greenPlayer);
+        game.createPiece("L", 0);
+        long created = game.getZobristHash();
+
+        game.rotatePiece("L", 90);
+        assertNotEquals(created, game.getZobristHash());
+
+        game.undo();
+        assertEquals(created, game.getZobristHash());
+    }
+
+    /**
+     * Test if two games that went through the same moves have the same Zobrist hash.
+     */
+    @Test
+    public void test_ZobristHash_SameState(){
+        Game first = new Game(new Board());
+        Game second = new Game(new Board());
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+
+        for(Game game : new Game[]{first, second}){
+            game.createPiece("L", 0);
+            game.movePiece("L", UP, true);
+            game.pass();
+        }
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+
+        first.pass();
+        assertNotEquals(first.getZobristHash(), second.getZobristHash());
+    }
+
+    /**
+     * Test if undoing a move that pushes its neighbors restores the exact previous state.
+     */
+    @Test
+    public void test_UndoMove_RestoresState(){
+        Board board = new Board();
+        Game game = new Game(board);
+        Player player = new GreenPlayer(game);
+        game.setCurrentPlayer(player);
+        game.createPiece("L", 0);
+        game.movePiece("L", DOWN, true);
+        game.createPiece("A", 0);
+
+        String before = board.toString();
+        long hash = game.getZobristHash();
+        game.movePiece("A", DOWN, true);
+        game.undo();
+
+        assertEquals(before, board.toString());
+        assertEquals(hash, game.getZobristHash());
+        assertTrue(game.getFuture().contains(board.findPiece("A")));
+    }
+
+    /**
+     * Test if a piece killed by an action tried between a checkpoint and its restore is not reported as newly dead
+     * once the action has been reverted.
+     */
+    @Test
+    public void test_Restore_NewlyDead(){
+        Board board = new Board();
+        Game game = new Game(board);
+        Player player = new GreenPlayer(game);
+        game.setCurrentPlayer(player);
+        game.createPiece("L", 0);
+        PlayerPiece piece_L = board.findPiece("L");
+        game.movePiece("L", UP, true);
+        game.resetFuture();
+        game.createPiece("A", 0);
+        game.movePiece("A", UP, true);
+        game.resetFuture();
+        game.clearNewlyDead();
+
+        int checkpoint = game.checkpoint();
+        assertTrue(game.apply(Action.move(board.findPiece("A").getId(), UP)));
+        assertTrue(game.pieceJustDied());
+        game.restore(checkpoint);
+
+        assertFalse(game.pieceJustDied());
+        assertFalse(game.usedToHaveAPiece(piece_L.getPosition()));
+        assertFalse(game.getCemetery().contains(piece_L));
+    }
+
+    /**
+     * Pick one of the actions the game generates at random, for the tests playing random games. Each action may be
+     * rejected for reactions that never settle, but anything thrown while playing it fails the test.
+     */
+    static int randomAction(Game game, int[] actions, Random random){
+        int count = game.generateActions(actions);
+        assertTrue("A game that is not over always has an action", count > 0);
+        return actions[random.nextInt(count)];
+    }
+
+    /**
+     * Test if the generated actions are every create at the start of a turn, and that each of them can be played.
+     */
+    @Test
+    public void test_GenerateActions_Create(){
+        Game game = new Game(new Board());
+        int[] actions = new int[Action.MAX_ACTIONS];
+        int count = game.generateActions(actions);
+        assertEquals(24 * 4 + 1, count);
+
+        long hash = game.getZobristHash();
+        for(int i = 0; i < count; i++){
+            game.play(actions[i]);
+            game.undo();
+            assertEquals(hash, game.getZobristHash());
+        }
+    }
+
+    /**
+     * Test if the generated actions are every move and rotate of the pieces still to act, plus pass.
+     */
+    @Test
+    public void test_GenerateActions_Action(){
+        Game game = new Game(new Board());
+        game.createPiece("L", 0);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        assertEquals(4 + 3 + 1, game.generateActions(actions));
+
+        game.rotatePiece("L", 90);
+        assertEquals(1, game.generateActions(actions));
+        assertEquals(Action.PASS, Action.type(actions[0]));
+    }
+
+    /**
+     * Test if a CompactGame plays random games exactly like the Game it was copied from.
+     */
+    @Test
+    public void test_CompactGame_SameRules(){
+        Random random = new Random(3);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        int[] compactActions = new int[Action.MAX_ACTIONS];
+        for(int i = 0; i < 20; i++){
+            Game game = new Game(new Board());
+            CompactGame compact = new CompactGame(game);
+            for(int turn = 0; turn < 1000 && !game.gameOver(); turn++){
+                int action = randomAction(game, actions, random);
+                assertEquals(game.generateActions(actions), compact.generateActions(compactActions));
+                assertEquals(game.play(action), compact.apply(action));
+                assertEquals(game.getZobristHash(), compact.getZobristHash());
+                assertEquals(game.gameOver(), compact.gameOver());
+            }
+            if(game.gameOver()){
+                assertEquals(game.getWinner().isGreen(), compact.greenWon());
+            }
+        }
+    }
+
+    /**
+     * Test if applying actions to a GameState follows the Game and leaves the earlier states unchanged.
+     */
+    @Test
+    public void test_GameState_Immutable(){
+        Random random = new Random(5);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        Game game = new Game(new Board());
+        GameState state = GameState.of(game);
+        List<GameState> history = new ArrayList<>();
+        List<Long> hashes = new ArrayList<>();
+
+        for(int turn = 0; turn < 2000 && !game.gameOver(); turn++){
+            history.add(state);
+            hashes.add(state.getZobristHash());
+
+            int action = randomAction(game, actions, random);
+            assertEquals(game.generateActions(actions), state.generateActions(new int[Action.MAX_ACTIONS]));
+            if(!game.play(action)){
+                continue;
+            }
+            state = state.apply(action);
+            assertEquals(game.getZobristHash(), state.getZobristHash());
+            assertEquals(game.getCemetery().getDeadPiecesCount(), state.getDeadPieces().length);
+        }
+
+        // Applying actions to the earlier states does not change them either.
+        for(int i = 0; i < history.size(); i++){
+            history.get(i).apply(Action.pass());
+            assertEquals(hashes.get(i).longValue(), history.get(i).getZobristHash());
+        }
+        assertEquals(game.getZobristHash(), GameState.of(game).getZobristHash());
+    }
+
+    /**
+     * Test if the cemetery keeps the dead pieces in the order they arrived and counts them for each player.
+     */
+    @Test
+    public void test_Cemetery(){
+        Cemetery cemetery = new Cemetery();
+        PlayerPiece green = new GreenPlayer(null).hand.getPiece(3);
+        PlayerPiece yellow = new YellowPlayer(null).hand.getPiece(0);
+        cemetery.add(yellow);
+        cemetery.add(green);
+
+        assertTrue(cemetery.contains(green));
+        assertEquals(yellow, cemetery.getDeadPieces().get(0));
+        assertEquals(green, cemetery.getDeadPieces().get(1));
+        assertEquals(1, cemetery.getDeadPiecesCount(new GreenPlayer(null)));
+        assertEquals(1, cemetery.getDeadPiecesCount(new YellowPlayer(null)));
+        assertEquals(green, cemetery.getGreenPiecesInCemetery()[0][0]);
+
+        Cemetery clone = cemetery.clone();
+        List<PlayerPiece> dead = cemetery.getDeadPieces();
+        cemetery.remove(yellow);
+        assertEquals(2, dead.size());
+        assertEquals(yellow, dead.get(0));
+        assertFalse(cemetery.contains(yellow));
+        assertEquals(green, cemetery.getDeadPieces().get(0));
+        assertTrue(cemetery.getYellowPiecesInCemetery()[0][0] instanceof BlankPiece);
+        assertEquals(yellow, clone.getYellowPiecesInCemetery()[0][0]);
+        assertEquals(2, clone.getDeadPiecesCount());
+
+        // The layouts of the cemetery do not follow the changes of its clone.
+        clone.remove(green);
+        assertTrue(clone.getGreenPiecesInCemetery()[0][0] instanceof BlankPiece);
+        assertEquals(green, cemetery.getGreenPiecesInCemetery()[0][0]);
+    }
+
+    /**
+     * The pieces on the createBoard and the future set are read-only views that follow the game.
+     */
+    @Test
+    public void test_PieceSetViews(){
+        Game game = new Game(new Board());
+        Player green = game.getCurrentPlayer();
+        PlayerPiece piece_L = green.hand.getPiece("L");
+        java.util.Set<PlayerPiece> inBoard = green.getAllPiecesInBoard();
+        assertTrue(inBoard.isEmpty());
+
+        game.createPiece("L", 0);
+        assertTrue(inBoard.contains(piece_L));
+        assertEquals(1, inBoard.size());
+        assertEquals(piece_L, inBoard.iterator().next());
+        assertTrue(game.getFuture().contains(piece_L));
+
+        game.movePiece("L", DOWN, true);
+        assertFalse(game.getFuture().contains(piece_L));
+        assertTrue(game.movedPiece(Position.of(3,2)));
+        try {
+            inBoard.remove(piece_L);
+            fail("The view of the pieces on the createBoard cannot be modified.");
+        } catch (UnsupportedOperationException e){
+
+        }
+    }
+
+    /**
+     * A game loaded from a snapshot is in the same state as the game that was saved, and plays on the same.
+     */
+    @Test
+    public void test_GameSnapshot() throws Exception {
+        Random random = new Random(11);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        Game game = new Game(new Board());
+        game.getGreenPlayer().increaseUndo();
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.MAX_BYTES);
+
+        for(int turn = 0; turn < 500 && !game.gameOver(); turn++){
+            buffer.clear();
+            GameSnapshot.write(game, buffer);
+            buffer.flip();
+            Game loaded = GameSnapshot.read(buffer);
+
+            assertEquals(game.getZobristHash(), loaded.getZobristHash());
+            assertEquals(game.getBoard().toString(), loaded.getBoard().toString());
+            for(int i = 0; i < game.getYellowPlayer().hand.size(); i++){
+                assertEquals(game.getYellowPlayer().hand.getPiece(i), loaded.getYellowPlayer().hand.getPiece(i));
+            }
+            assertEquals(game.getGreenPlayer().hand.size(), loaded.getGreenPlayer().hand.size());
+            assertEquals(game.getCemetery().getDeadPieces(), loaded.getCemetery().getDeadPieces());
+            assertEquals(game.getCemetery().toString(), loaded.getCemetery().toString());
+            assertEquals(game.getFuture(), loaded.getFuture());
+            assertEquals(1, loaded.getGreenPlayer().getUndoMoves());
+
+            int action = randomAction(game, actions, random);
+            if(!game.play(action)){
+                continue;
+            }
+            assertTrue(loaded.play(action));
+            assertEquals(game.getZobristHash(), loaded.getZobristHash());
+        }
+        assertTrue(buffer.limit() < 300);
+
+        File file = File.createTempFile("game", ".snapshot");
+        file.deleteOnExit();
+        GameSnapshot.save(game, file.toPath(), true);
+        assertEquals(game.getZobristHash(), GameSnapshot.load(file.toPath(), true).getZobristHash());
+        GameSnapshot.save(game, file.toPath());
+        assertEquals(game.getZobristHash(), GameSnapshot.load(file.toPath()).getZobristHash());
+
+        buffer.put(0, (byte) 0);
+        buffer.rewind();
+        try {
+            GameSnapshot.read(buffer);
+            fail("A buffer without the magic number is not a snapshot.");
+        } catch (IllegalArgumentException e){
+
+        }
+    }
+
+    /**
+     * A snapshot naming an unknown winner, missing a piece, or with a piece of the other player in future, is
+     * rejected.
+     */
+    @Test
+    public void test_GameSnapshot_Invalid(){
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.MAX_BYTES);
+        GameSnapshot.write(new Game(new Board()), buffer);
+        buffer.flip();
+        byte[] bytes = Arrays.copyOf(buffer.array(), buffer.limit());
+
+        // The winner follows the magic number, the version, the phase and the moves.
+        byte[] winner = bytes.clone();
+        winner[4 + 2 + 1 + 4] = 3;
+        try {
+            GameSnapshot.read(ByteBuffer.wrap(winner));
+            fail("A snapshot with an unknown winner is not valid.");
+        } catch (IllegalArgumentException e){
+            assertEquals("Unknown winner 3", e.getMessage());
+        }
+
+        // Drop the last piece of the yellow hand, which comes before the empty cemetery and the future set.
+        int handSize = bytes.length - 8 - 1 - PlayerPiece.PIECES / 2 - 1;
+        byte[] missing = Arrays.copyOf(bytes, bytes.length - 1);
+        missing[handSize]--;
+        System.arraycopy(bytes, bytes.length - 9, missing, bytes.length - 10, 9);
+        try {
+            GameSnapshot.read(ByteBuffer.wrap(missing));
+            fail("A snapshot missing a piece is not valid.");
+        } catch (IllegalArgumentException e){
+            assertEquals("Piece 47 is missing", e.getMessage());
+        }
+
+        // Put a piece of the player who has just played in the future set.
+        Game game = new Game(new Board());
+        Random random = new Random(5);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        while(game.getGreenPlayer().getPiecesInBoardMask() == 0 || game.getYellowPlayer().getPiecesInBoardMask() == 0){
+            game.play(randomAction(game, actions, random));
+        }
+        buffer.clear();
+        GameSnapshot.write(game, buffer);
+        buffer.flip();
+        Player other = game.getCurrentPlayer().isGreen() ? game.getYellowPlayer() : game.getGreenPlayer();
+        long piece = Long.lowestOneBit(other.getPiecesInBoardMask());
+        buffer.putLong(buffer.limit() - 8, piece);
+        try {
+            GameSnapshot.read(buffer);
+            fail("A snapshot with a piece of the other player in future is not valid.");
+        } catch (IllegalArgumentException e){
+            assertEquals("Piece " + Long.numberOfTrailingZeros(piece) + " is in the future set of the wrong player",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * A game replayed from its journal, undos included, ends up in the same state as the game that was recorded.
+     */
+    @Test
+    public void test_MoveJournal() throws Exception {
+        File file = File.createTempFile("game", ".journal");
+        file.delete();
+        file.deleteOnExit();
+        Random random = new Random(13);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        Game game = new Game(new Board());
+        int played = 0;
+
+        MoveRecorder recorder = new MoveRecorder(file.toPath());
+        game.setCommandListener(recorder);
+        for(int turn = 0; turn < 1000 && !game.gameOver(); turn++){
+            if(random.nextInt(10) == 0){
+                try {
+                    game.undo();
+                    played++;
+                } catch (IllegalArgumentException e){
+                    assertEquals("There are no more commands to undo", e.getMessage());
+                }
+                continue;
+            }
+            if(game.play(randomAction(game, actions, random))){
+                played++;
+            }
+        }
+        recorder.close();
+        assertEquals(6 + played * MoveRecorder.RECORD_BYTES, file.length());
+
+        Game replayed = MoveReplayer.replay(file.toPath());
+        assertEquals(game.getZobristHash(), replayed.getZobristHash());
+        assertEquals(game.getGreenPlayer().getUndoMoves(), replayed.getGreenPlayer().getUndoMoves());
+
+        // A journal holds a single game.
+        try {
+            new MoveRecorder(file.toPath());
+            fail("A journal that already holds a game cannot record another one.");
+        } catch (IllegalArgumentException e){
+
+        }
+        assertEquals(6 + played * MoveRecorder.RECORD_BYTES, file.length());
+    }
+
+    /**
+     * A journal that cannot be written does not stop the game: the failure is kept and thrown by close.
+     */
+    @Test
+    public void test_MoveJournal_Failure() throws Exception {
+        File file = File.createTempFile("game", ".journal");
+        file.deleteOnExit();
+        Random random = new Random(17);
+        int[] actions = new int[Action.MAX_ACTIONS];
+        Game game = new Game(new Board());
+        MoveRecorder recorder = new MoveRecorder(file.toPath());
+        game.setCommandListener(recorder);
+
+        // Once the recorder is closed, the first full block of records cannot be written.
+        recorder.close();
+        for(int turn = 0; turn < 1000 && !game.gameOver(); turn++){
+            game.play(randomAction(game, actions, random));
+        }
+        assertNotNull(recorder.getFailure());
+        try {
+            recorder.close();
+            fail("The failure to write the records is thrown by close.");
+        } catch (IOException e){
+            assertSame(recorder.getFailure(), e);
+        }
+    }
 }
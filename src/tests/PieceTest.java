@@ -3,11 +3,15 @@ package tests;
 import model.Position;
 import model.piece.Piece;
 import model.piece.PlayerPiece;
+import model.reaction.Reaction;
+import model.reaction.ReactionBuffer;
 import org.junit.Test;
 
 import static model.piece.PlayerPiece.Item.*;
+import static model.player.Player.Direction.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class PieceTest {
@@ -78,12 +82,52 @@ public class PieceTest {
 
     assertEquals(c.getClass(), PlayerPiece.class);
     PlayerPiece clone = (PlayerPiece) c;
-    original.setPosition(new Position(0, 0));
-    clone.setPosition(new Position(1, 1));
+    original.setPosition(Position.of(0, 0));
+    clone.setPosition(Position.of(1, 1));
 
     // Changing the position of the clone should not alter the original piece as well.
     assertFalse(original.getPosition().getX() == clone.getPosition().getX());
     assertFalse(original.getPosition().getY() == clone.getPosition().getY());
   }
 
+  /**
+   * Test whether the reactions between items are resolved into the buffer.
+   */
+  @Test
+  public void test_ReactionOutcomes() {
+    assertEquals(Reaction.ELIMINATE_TWO, Reaction.outcome(VERTICAL_SWORD.ordinal(), NO_ITEM.ordinal()));
+    assertEquals(Reaction.ELIMINATE_ONE, Reaction.outcome(NO_ITEM.ordinal(), HORIZONTAL_SWORD.ordinal()));
+    assertEquals(Reaction.ELIMINATE_BOTH, Reaction.outcome(VERTICAL_SWORD.ordinal(), VERTICAL_SWORD.ordinal()));
+    assertEquals(Reaction.PUSH_ONE, Reaction.outcome(VERTICAL_SWORD.ordinal(), SHIELD.ordinal()));
+    assertEquals(Reaction.PUSH_TWO, Reaction.outcome(SHIELD.ordinal(), VERTICAL_SWORD.ordinal()));
+    assertEquals(Reaction.NO_REACTION, Reaction.outcome(SHIELD.ordinal(), NO_ITEM.ordinal()));
+
+    // A sword pointing up at the shield of the piece above pushes the sword down.
+    PlayerPiece sword = new PlayerPiece(VERTICAL_SWORD, NO_ITEM, NO_ITEM, NO_ITEM, "A");
+    PlayerPiece shield = new PlayerPiece(NO_ITEM, NO_ITEM, SHIELD, NO_ITEM, "b");
+    ReactionBuffer buffer = new ReactionBuffer();
+    assertTrue(Reaction.resolve(sword, shield, UP, buffer));
+    assertEquals(ReactionBuffer.PUSH, buffer.getKind());
+    assertEquals(sword, buffer.getPiece(0));
+    assertEquals(DOWN, buffer.getDirection());
+
+    assertFalse(Reaction.resolve(sword, shield, LEFT, buffer));
+    assertEquals(ReactionBuffer.NONE, buffer.getKind());
+  }
+
+  /**
+   * Test whether the orientations of a PlayerPiece are shared instead of rebuilt on every rotation.
+   */
+  @Test
+  public void test_SharedOrientations() {
+    PlayerPiece piece = new PlayerPiece(VERTICAL_SWORD, HORIZONTAL_SWORD, NO_ITEM, SHIELD, "X");
+    String top = piece.topLine();
+    PlayerPiece clone = piece.clone();
+    clone.rotate(90);
+    assertEquals(" # ", clone.topLine());
+    assertEquals(HORIZONTAL_SWORD, clone.getItem(LEFT));
+    clone.rotate(270);
+    assertSame(top, clone.topLine());
+    assertEquals(SHIELD, clone.getItem(RIGHT));
+  }
 }
@@ -0,0 +1,53 @@
+package tests;
+
+import model.bot.RandomBot;
+import model.bot.Tournament;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+
+    /**
+     * Test if every game is written out once and counted in the summary.
+     */
+    @Test
+    public void test_Tournament_Csv() throws IOException {
+        Tournament tournament = new Tournament(RandomBot::new, RandomBot::new, 50, Tournament.Format.CSV, 2);
+        StringBuilder out = new StringBuilder();
+        Tournament.Summary summary = tournament.play(200, 42, out);
+        tournament.shutdown();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(201, lines.length);
+        assertEquals("game,outcome,moves,actions,green_dead,yellow_dead,nanos", lines[0]);
+        assertEquals(200, summary.getGames());
+        assertEquals(200, summary.getGreenWins() + summary.getYellowWins() + summary.getDraws());
+    }
+
+    /**
+     * Test if a tournament plays the same games for the same seed, whatever order they finish in.
+     */
+    @Test
+    public void test_Tournament_SameSeed() throws IOException {
+        assertEquals(outcomes(7), outcomes(7));
+    }
+
+    private String outcomes(long seed) throws IOException {
+        Tournament tournament = new Tournament(RandomBot::new, RandomBot::new, 50, Tournament.Format.CSV, 4);
+        StringBuilder out = new StringBuilder();
+        tournament.play(300, seed, out);
+        tournament.shutdown();
+
+        // Drop the timing, which changes from run to run.
+        String[] lines = out.toString().split("\n");
+        for(int i = 0; i < lines.length; i++){
+            lines[i] = lines[i].substring(0, lines[i].lastIndexOf(','));
+        }
+        Arrays.sort(lines);
+        return String.join("\n", lines);
+    }
+}